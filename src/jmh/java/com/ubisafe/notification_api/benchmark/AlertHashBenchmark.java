@@ -0,0 +1,56 @@
+package com.ubisafe.notification_api.benchmark;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import com.ubisafe.notification_api.service.AlertHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content-id hashing: the legacy MD5 name-based UUID against the streaming MurmurHash3.
+ * Run with {@code -prof gc} to compare allocation per operation as well as latency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlertHashBenchmark {
+
+    @Param({AlertHasher.LEGACY, AlertHasher.MURMUR3})
+    public String algorithm;
+
+    @Param({"32", "512"})
+    public int messageLength;
+
+    private AlertHasher hasher;
+    private Alert alert;
+
+    @Setup
+    public void setUp() {
+        hasher = new AlertHasher(algorithm);
+        alert = Alert.builder()
+                .clientId("client-8f14e45f")
+                .alertType("CPU_USAGE_HIGH")
+                .message("x".repeat(messageLength))
+                .severity(Severity.HIGH)
+                .build();
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.hash(alert);
+    }
+}
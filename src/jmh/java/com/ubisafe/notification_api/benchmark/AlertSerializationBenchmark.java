@@ -0,0 +1,73 @@
+package com.ubisafe.notification_api.benchmark;
+
+import com.ubisafe.notification_api.codec.AlertPayloadCodec;
+import com.ubisafe.notification_api.codec.BinaryAlertCodec;
+import com.ubisafe.notification_api.codec.JsonAlertCodec;
+import com.ubisafe.notification_api.config.JacksonConfig;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload encoding of an {@link Alert}: Jackson through the {@link JacksonConfig} ObjectMapper
+ * against the compact binary codec, both directions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlertSerializationBenchmark {
+
+    @Param({JsonAlertCodec.NAME, BinaryAlertCodec.NAME})
+    public String codec;
+
+    @Param({"32", "512"})
+    public int messageLength;
+
+    private AlertPayloadCodec payloadCodec;
+    private Alert alert;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        payloadCodec = JsonAlertCodec.NAME.equals(codec)
+                ? new JsonAlertCodec(new JacksonConfig().objectMapper())
+                : new BinaryAlertCodec();
+        alert = Alert.builder()
+                .id("2f1c7a0e-5d1b-4c0b-9a63-1f0d8e2c4b7a")
+                .clientId("client-8f14e45f")
+                .alertType("CPU_USAGE_HIGH")
+                .message("x".repeat(messageLength))
+                .severity(Severity.HIGH)
+                .source("node-exporter")
+                .timestamp(LocalDateTime.of(2025, 1, 15, 10, 30, 45, 123_000_000))
+                .build();
+        encoded = payloadCodec.encode(alert);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return payloadCodec.encode(alert);
+    }
+
+    @Benchmark
+    public Alert decode() throws IOException {
+        return payloadCodec.decode(encoded);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ubisafe.notification_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.controller.AlertRequestCodec;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of an {@link Alert}, the work Spring MVC does for {@code @Valid} before the
+ * controller runs. The invalid case also builds the constraint violations and their messages.
+ * The {@code codec*} variants are the hand-written checks {@link AlertRequestCodec} uses instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlertValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private AlertRequestCodec codec;
+    private Alert valid;
+    private Alert invalid;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        codec = new AlertRequestCodec(new ObjectMapper());
+        valid = Alert.builder()
+                .clientId("client-8f14e45f")
+                .alertType("CPU_USAGE_HIGH")
+                .message("CPU usage above 95% for 5 minutes")
+                .severity(Severity.HIGH)
+                .build();
+        invalid = Alert.builder()
+                .clientId("")
+                .message("CPU usage above 95% for 5 minutes")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Alert>> validAlert() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Alert>> invalidAlert() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    public int codecValidAlert() {
+        return codec.validate(valid);
+    }
+
+    @Benchmark
+    public int codecInvalidAlert() {
+        return codec.validate(invalid);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ubisafe.notification_api.benchmark;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-in for the Redis calls made by the synchronous dedup path. Only
+ * {@code SET key value NX EX} is implemented; anything else fails loudly so a benchmark never
+ * silently measures a code path it did not mean to.
+ */
+final class InMemoryRedis {
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    RedisTemplate<String, String> template() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("setIfAbsent") && args != null && args.length == 4) {
+                        return setIfAbsent((String) args[0], (Long) args[2], (TimeUnit) args[3]);
+                    }
+                    throw new UnsupportedOperationException("InMemoryRedis does not support " + method);
+                });
+
+        return new RedisTemplate<>() {
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return values;
+            }
+        };
+    }
+
+    void clear() {
+        expiries.clear();
+    }
+
+    private Boolean setIfAbsent(String key, long timeout, TimeUnit unit) {
+        long now = System.nanoTime();
+        long expiresAt = now + unit.toNanos(timeout);
+        boolean[] created = new boolean[1];
+        expiries.compute(key, (k, current) -> {
+            if (current != null && current - now > 0) {
+                return current;
+            }
+            created[0] = true;
+            return expiresAt;
+        });
+        return created[0];
+    }
+}
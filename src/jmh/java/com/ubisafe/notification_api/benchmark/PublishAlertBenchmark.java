@@ -0,0 +1,144 @@
+package com.ubisafe.notification_api.benchmark;
+
+import com.ubisafe.notification_api.codec.JsonAlertCodec;
+import com.ubisafe.notification_api.config.JacksonConfig;
+import com.ubisafe.notification_api.config.RateLimitProperties;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import com.ubisafe.notification_api.service.AlertHasher;
+import com.ubisafe.notification_api.service.AlertLaneRouter;
+import com.ubisafe.notification_api.service.AlertMetrics;
+import com.ubisafe.notification_api.service.AlertService;
+import com.ubisafe.notification_api.service.ClientRateLimiter;
+import com.ubisafe.notification_api.service.DedupShardRouter;
+import com.ubisafe.notification_api.service.DeduplicationService;
+import com.ubisafe.notification_api.service.DuplicateAggregator;
+import com.ubisafe.notification_api.service.InFlightTracker;
+import com.ubisafe.notification_api.service.LocalDedupCache;
+import com.ubisafe.notification_api.service.RecentAlertStore;
+import com.ubisafe.notification_api.spill.SpillLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AlertService#publishAlert} end to end: hashing, rate limiting (disabled), deduplication,
+ * serialization and the hand-off to the producer. Kafka is a {@link MockProducer} that acknowledges
+ * every record immediately and Redis is {@link InMemoryRedis}, so the numbers are the service's own
+ * CPU cost without network time.
+ * <p>
+ * {@code unique} makes every alert new, so each one reaches the producer; {@code repeated} sends
+ * the same alert over and over, so all but the first stop at deduplication.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishAlertBenchmark {
+
+    private static final int CLEAR_EVERY = 4096;
+
+    @Param({"unique", "repeated"})
+    public String workload;
+
+    @Param({"true", "false"})
+    public boolean localCache;
+
+    private AlertService alertService;
+    private RecordingProducer producer;
+    private InMemoryRedis redis;
+    private Alert alert;
+    private String baseMessage;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        producer = new RecordingProducer();
+        redis = new InMemoryRedis();
+
+        DeduplicationService deduplicationService = new DeduplicationService(
+                DedupShardRouter.single(redis.template(), null, registry),
+                new LocalDedupCache(localCache, 100_000, 5, registry), new AlertMetrics(registry), registry);
+        ReflectionTestUtils.setField(deduplicationService, "windowSeconds", 5L);
+
+        alertService = new AlertService(
+                AlertLaneRouter.single(new KafkaTemplate<>(() -> producer), "alerts", registry),
+                new JsonAlertCodec(new JacksonConfig().objectMapper()),
+                deduplicationService,
+                new AlertHasher(AlertHasher.MURMUR3),
+                new InFlightTracker(10_000, 1, registry),
+                SpillLog.disabled(),
+                new ClientRateLimiter(new RateLimitProperties(), (key, limit, requested) -> {
+                    throw new IllegalStateException("rate limiting is disabled");
+                }, registry),
+                new AlertMetrics(registry),
+                new DuplicateAggregator(null, null, null, registry),
+                new RecentAlertStore(50_000, 512, registry));
+
+        baseMessage = "CPU usage above 95% for 5 minutes on node ";
+        alert = Alert.builder()
+                .clientId("client-8f14e45f")
+                .alertType("CPU_USAGE_HIGH")
+                .message(baseMessage)
+                .severity(Severity.HIGH)
+                .source("node-exporter")
+                .build();
+    }
+
+    @Benchmark
+    public Map<String, String> publishAlert() {
+        if (++sequence % CLEAR_EVERY == 0) {
+            producer.clear();
+            if ("unique".equals(workload)) {
+                redis.clear();
+            }
+        }
+        alert.setTimestamp(null);
+        if ("unique".equals(workload)) {
+            alert.setMessage(baseMessage + sequence);
+        }
+        return alertService.publishAlert(alert);
+    }
+
+    /**
+     * KafkaTemplate closes non-transactional producers after every send, which would end a plain
+     * MockProducer; this one stays open and keeps only the records since the last {@link #clear()}.
+     */
+    private static final class RecordingProducer extends MockProducer<String, byte[]> {
+
+        private RecordingProducer() {
+            super(true, new StringSerializer(), new ByteArraySerializer());
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
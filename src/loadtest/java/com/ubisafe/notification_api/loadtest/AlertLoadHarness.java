@@ -0,0 +1,61 @@
+package com.ubisafe.notification_api.loadtest;
+
+import com.ubisafe.notification_api.NotificationApiApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline capacity check: starts an in-process Kafka broker, a loopback Redis stand-in and the
+ * full application, drives {@code POST /alerts} at the requested rate and prints throughput,
+ * latency percentiles and error rate. Nothing leaves the machine.
+ * <p>
+ * Run with {@code mvn -Ploadtest verify -Dloadtest.args="rate=5000 duration=60 duplicate-ratio=0.2"}.
+ */
+@Slf4j
+public final class AlertLoadHarness {
+
+    private AlertLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 3, "alerts");
+        kafka.afterPropertiesSet();
+        LoadReport report;
+        try (RespServer redis = new RespServer()) {
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                    "--spring.data.redis.host=127.0.0.1",
+                    "--spring.data.redis.port=" + redis.port(),
+                    "--server.port=0",
+                    "--logging.level.com.ubisafe.notification_api=WARN",
+                    "--logging.level.org.apache.kafka=WARN"));
+            appArgs.addAll(options.appArgs());
+
+            try (ConfigurableApplicationContext app = SpringApplication.run(NotificationApiApplication.class,
+                    appArgs.toArray(String[]::new))) {
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                report = new LoadGenerator(URI.create("http://127.0.0.1:" + port + "/alerts"), options).run();
+            }
+        } finally {
+            kafka.destroy();
+        }
+
+        System.out.println(report.toText());
+        Path reportPath = Path.of(options.report());
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        Files.writeString(reportPath, report.toJson());
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+        System.exit(0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ubisafe.notification_api.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for {@code POST /alerts}: requests are scheduled at a fixed rate
+ * regardless of how fast the server answers, up to {@code concurrency} outstanding at once.
+ * Duplicates repeat one of the bodies sent in roughly the last second, so they land inside the
+ * deduplication window.
+ */
+@Slf4j
+final class LoadGenerator {
+
+    private static final String[] SEVERITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final URI endpoint;
+    private final LoadOptions options;
+    private final String[] recent;
+    private final String padding;
+    private long sequence;
+
+    LoadGenerator(URI endpoint, LoadOptions options) {
+        this.endpoint = endpoint;
+        this.options = options;
+        this.recent = new String[Math.max(1, Math.min(1024, options.rate()))];
+        this.padding = "x".repeat(Math.max(0, options.payloadBytes() - 24));
+    }
+
+    LoadReport run() throws InterruptedException {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+            if (!options.warmup().isZero()) {
+                log.warn("Warming up for {} s", options.warmup().toSeconds());
+                drive(client, options.warmup());
+            }
+            log.warn("Measuring for {} s at {} req/s", options.duration().toSeconds(), options.rate());
+            return drive(client, options.duration());
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private LoadReport drive(HttpClient client, Duration length) throws InterruptedException {
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        AtomicLong lastCompletion = new AtomicLong();
+        Semaphore outstanding = new Semaphore(options.concurrency());
+
+        long total = options.rate() * length.toSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            outstanding.acquire();
+
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(nextBody()))
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        long now = System.nanoTime();
+                        recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(now - intended)));
+                        int status = ex != null ? -1 : response.statusCode();
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                        if (status < 200 || status >= 300) {
+                            errors.increment();
+                        }
+                        lastCompletion.accumulateAndGet(now, Math::max);
+                        outstanding.release();
+                    });
+        }
+        if (!outstanding.tryAcquire(options.concurrency(), 60, TimeUnit.SECONDS)) {
+            log.warn("{} requests still outstanding after 60 s", options.concurrency() - outstanding.availablePermits());
+        }
+
+        Histogram latency = recorder.getIntervalHistogram();
+        Map<Integer, Long> counts = new ConcurrentHashMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        double elapsedSeconds = (Math.max(lastCompletion.get(), start + 1) - start) / 1e9;
+        return new LoadReport(options, elapsedSeconds, latency.getTotalCount(), errors.sum(), counts, latency);
+    }
+
+    private String nextBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long seq = sequence++;
+        if (seq >= recent.length && random.nextDouble() < options.duplicateRatio()) {
+            return recent[random.nextInt(recent.length)];
+        }
+        String body = "{\"clientId\":\"client-" + (seq % options.clients()) + "\","
+                + "\"alertType\":\"LOAD_TEST\","
+                + "\"message\":\"" + String.format("%024d", seq) + padding + "\","
+                + "\"severity\":\"" + SEVERITIES[(int) (seq % SEVERITIES.length)] + "\","
+                + "\"source\":\"loadtest\"}";
+        recent[(int) (seq % recent.length)] = body;
+        return body;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ubisafe.notification_api.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Harness settings, given as {@code name=value} arguments. Anything starting with {@code --} is
+ * passed to the application unchanged, e.g. {@code --alert.ingest.mode=async}.
+ *
+ * @param rate            target requests per second, issued on a fixed schedule
+ * @param duration        measured run length
+ * @param warmup          run length before measuring, to let the JIT and connection pools settle
+ * @param duplicateRatio  share of requests that repeat an alert sent shortly before
+ * @param payloadBytes    length of the alert message
+ * @param concurrency     maximum requests outstanding at once
+ * @param clients         number of distinct clientIds the load is spread over
+ * @param report          where the JSON report is written
+ * @param appArgs         arguments for the Spring application
+ */
+record LoadOptions(int rate, Duration duration, Duration warmup, double duplicateRatio, int payloadBytes,
+                   int concurrency, int clients, String report, List<String> appArgs) {
+
+    static LoadOptions parse(String[] args) {
+        int rate = 1000;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        double duplicateRatio = 0.1;
+        int payloadBytes = 256;
+        int concurrency = 256;
+        int clients = 100;
+        String report = "target/loadtest-report.json";
+        List<String> appArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            String name = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "rate" -> rate = Integer.parseInt(value);
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duplicate-ratio" -> duplicateRatio = Double.parseDouble(value);
+                case "payload-bytes" -> payloadBytes = Integer.parseInt(value);
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "clients" -> clients = Integer.parseInt(value);
+                case "report" -> report = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        if (rate <= 0 || concurrency <= 0 || clients <= 0 || duplicateRatio < 0 || duplicateRatio > 1) {
+            throw new IllegalArgumentException("rate, concurrency and clients must be positive and duplicate-ratio within [0, 1]");
+        }
+        return new LoadOptions(rate, duration, warmup, duplicateRatio, payloadBytes, concurrency, clients, report, appArgs);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ubisafe.notification_api.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a measured run. Latencies are taken from each request's scheduled start, not from
+ * when it was actually sent, so time spent queued behind a slow server is counted
+ * (no coordinated omission).
+ */
+record LoadReport(LoadOptions options, double elapsedSeconds, long requests, long errors,
+                  Map<Integer, Long> statuses, Histogram latencyMicros) {
+
+    double throughput() {
+        return requests / elapsedSeconds;
+    }
+
+    double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    String toText() {
+        return String.format(Locale.ROOT, """
+                Alert load test
+                  target rate      %d req/s, %d%% duplicates, %d byte messages, %d clients
+                  requests         %d in %.1f s
+                  throughput       %.1f req/s
+                  latency p50      %.2f ms
+                  latency p99      %.2f ms
+                  latency p999     %.2f ms
+                  latency max      %.2f ms
+                  errors           %d (%.3f%%)
+                  statuses         %s
+                """,
+                options.rate(), Math.round(options.duplicateRatio() * 100), options.payloadBytes(), options.clients(),
+                requests, elapsedSeconds, throughput(),
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9), latencyMicros.getMaxValue() / 1000.0,
+                errors, errorRate() * 100, new TreeMap<>(statuses));
+    }
+
+    String toJson() {
+        StringBuilder statusJson = new StringBuilder();
+        new TreeMap<>(statuses).forEach((status, count) -> {
+            if (!statusJson.isEmpty()) {
+                statusJson.append(", ");
+            }
+            statusJson.append('"').append(status).append("\": ").append(count);
+        });
+        return String.format(Locale.ROOT, """
+                {
+                  "rate": %d,
+                  "durationSeconds": %d,
+                  "duplicateRatio": %.3f,
+                  "payloadBytes": %d,
+                  "concurrency": %d,
+                  "clients": %d,
+                  "appArgs": "%s",
+                  "requests": %d,
+                  "elapsedSeconds": %.3f,
+                  "throughput": %.1f,
+                  "latencyMs": {"p50": %.3f, "p99": %.3f, "p999": %.3f, "max": %.3f},
+                  "errors": %d,
+                  "errorRate": %.5f,
+                  "statuses": {%s}
+                }
+                """,
+                options.rate(), options.duration().toSeconds(), options.duplicateRatio(), options.payloadBytes(),
+                options.concurrency(), options.clients(), String.join(" ", options.appArgs()).replace("\"", "\\\""),
+                requests, elapsedSeconds, throughput(),
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9), latencyMicros.getMaxValue() / 1000.0,
+                errors, errorRate(), statusJson);
+    }
+}
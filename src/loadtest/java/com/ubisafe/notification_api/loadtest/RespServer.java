@@ -0,0 +1,257 @@
+package com.ubisafe.notification_api.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal Redis-compatible server on loopback, enough for the commands this service sends:
+ * {@code SET} with {@code NX}/{@code EX}/{@code PX}, {@code GET}, {@code DEL}, {@code EXISTS}, plus the
+ * connection handshake Lettuce performs. {@code HELLO} is refused so clients fall back to RESP2.
+ * Pipelined commands are answered in order and flushed once the input runs dry, so the client
+ * still sees real round trips over a socket.
+ */
+@Slf4j
+final class RespServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "resp-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    RespServer() throws IOException {
+        serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        connections.execute(this::acceptLoop);
+        connections.execute(this::expireLoop);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int size() {
+        return store.size();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("RESP server accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void expireLoop() {
+        while (running) {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            store.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024)) {
+            while (running) {
+                List<byte[]> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                execute(command, out);
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("RESP connection closed: {}", e.getMessage());
+        }
+    }
+
+    private void execute(List<byte[]> command, OutputStream out) throws IOException {
+        String name = string(command.get(0)).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "PING" -> simple(out, "PONG");
+            case "CLIENT", "SELECT", "QUIT" -> simple(out, "OK");
+            case "INFO" -> bulk(out, "# Server\r\nredis_version:7.2.0\r\nredis_mode:standalone\r\n".getBytes(StandardCharsets.US_ASCII));
+            case "SET" -> set(command, out);
+            case "GET" -> {
+                Entry entry = live(string(command.get(1)));
+                bulk(out, entry == null ? null : entry.value);
+            }
+            case "DEL", "EXISTS" -> {
+                long count = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    String key = string(command.get(i));
+                    if (name.equals("DEL") ? store.remove(key) != null : live(key) != null) {
+                        count++;
+                    }
+                }
+                integer(out, count);
+            }
+            default -> error(out, "ERR unknown command '" + name + "'");
+        }
+    }
+
+    private void set(List<byte[]> command, OutputStream out) throws IOException {
+        String key = string(command.get(1));
+        byte[] value = command.get(2);
+        boolean nx = false;
+        long ttlMillis = 0;
+        for (int i = 3; i < command.size(); i++) {
+            String option = string(command.get(i)).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "NX" -> nx = true;
+                case "EX" -> ttlMillis = Long.parseLong(string(command.get(++i))) * 1000;
+                case "PX" -> ttlMillis = Long.parseLong(string(command.get(++i)));
+                default -> {
+                    error(out, "ERR syntax error");
+                    return;
+                }
+            }
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(value, ttlMillis > 0 ? now + ttlMillis : Long.MAX_VALUE);
+        if (!nx) {
+            store.put(key, entry);
+            simple(out, "OK");
+            return;
+        }
+        boolean[] created = new boolean[1];
+        store.compute(key, (k, current) -> {
+            if (current != null && current.expiresAt > now) {
+                return current;
+            }
+            created[0] = true;
+            return entry;
+        });
+        if (created[0]) {
+            simple(out, "OK");
+        } else {
+            bulk(out, null);
+        }
+    }
+
+    private Entry live(String key) {
+        Entry entry = store.get(key);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("Inline commands are not supported");
+        }
+        int count = (int) readLong(in);
+        List<byte[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected bulk string");
+            }
+            byte[] arg = new byte[(int) readLong(in)];
+            int read = 0;
+            while (read < arg.length) {
+                int n = in.read(arg, read, arg.length - read);
+                if (n == -1) {
+                    throw new EOFException();
+                }
+                read += n;
+            }
+            in.read();
+            in.read();
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private static long readLong(InputStream in) throws IOException {
+        long value = 0;
+        boolean negative = false;
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            if (b == '-') {
+                negative = true;
+            } else {
+                value = value * 10 + (b - '0');
+            }
+        }
+        in.read();
+        return negative ? -value : value;
+    }
+
+    private static void simple(OutputStream out, String value) throws IOException {
+        out.write(('+' + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void error(OutputStream out, String message) throws IOException {
+        out.write(('-' + message + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void integer(OutputStream out, long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void bulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        out.write(("$" + value.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(value);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+}
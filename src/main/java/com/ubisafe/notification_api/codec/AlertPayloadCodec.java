@@ -0,0 +1,18 @@
+package com.ubisafe.notification_api.codec;
+
+import com.ubisafe.notification_api.domain.Alert;
+
+import java.io.IOException;
+
+/**
+ * Encodes {@link Alert} records for the Kafka value and decodes them back. Selected with
+ * {@code alert.payload.codec}; {@link AlertPayloadDeserializer} reads either format.
+ */
+public interface AlertPayloadCodec {
+
+    String name();
+
+    byte[] encode(Alert alert) throws IOException;
+
+    Alert decode(byte[] payload) throws IOException;
+}
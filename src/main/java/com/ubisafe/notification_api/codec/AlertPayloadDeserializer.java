@@ -0,0 +1,42 @@
+package com.ubisafe.notification_api.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ubisafe.notification_api.domain.Alert;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Kafka value deserializer for alert payloads written by either codec. Binary payloads are
+ * recognised by {@link BinaryAlertCodec#MAGIC}, which can never start a JSON document, so consumers
+ * keep working while producers switch formats.
+ */
+public class AlertPayloadDeserializer implements Deserializer<Alert> {
+
+    private final BinaryAlertCodec binaryCodec = new BinaryAlertCodec();
+    private final JsonAlertCodec jsonCodec;
+
+    public AlertPayloadDeserializer() {
+        this(new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    public AlertPayloadDeserializer(ObjectMapper objectMapper) {
+        this.jsonCodec = new JsonAlertCodec(objectMapper);
+    }
+
+    @Override
+    public Alert deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return data.length > 0 && data[0] == BinaryAlertCodec.MAGIC
+                    ? binaryCodec.decode(data)
+                    : jsonCodec.decode(data);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to decode alert payload from topic " + topic, e);
+        }
+    }
+}
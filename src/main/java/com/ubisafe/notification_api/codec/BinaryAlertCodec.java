@@ -0,0 +1,244 @@
+package com.ubisafe.notification_api.codec;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact, schema-versioned binary encoding of {@link Alert}.
+ * <pre>
+ * magic     1 byte   0xA7
+ * version   1 byte   1
+ * presence  1 byte   bit per nullable field: id, clientId, alertType, message, severity, source, timestamp
+ * id, clientId, alertType, message   varint length + UTF-8 bytes (when present)
+ * severity  1 byte   {@link Severity} ordinal (when present)
+ * source    varint length + UTF-8 bytes (when present)
+ * timestamp zig-zag varlong epoch seconds (UTC wall clock) + varint nanos (when present)
+ * </pre>
+ * New fields must be appended behind a version bump; new {@link Severity} constants must be added
+ * at the end of the enum so existing ordinals keep their meaning.
+ */
+public class BinaryAlertCodec implements AlertPayloadCodec {
+
+    public static final String NAME = "binary";
+    public static final byte MAGIC = (byte) 0xA7;
+    public static final byte VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int CLIENT_ID = 1 << 1;
+    private static final int ALERT_TYPE = 1 << 2;
+    private static final int MESSAGE = 1 << 3;
+    private static final int SEVERITY = 1 << 4;
+    private static final int SOURCE = 1 << 5;
+    private static final int TIMESTAMP = 1 << 6;
+
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final ThreadLocal<Writer> WRITERS = ThreadLocal.withInitial(Writer::new);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Alert alert) {
+        int presence = (alert.getId() != null ? ID : 0)
+                | (alert.getClientId() != null ? CLIENT_ID : 0)
+                | (alert.getAlertType() != null ? ALERT_TYPE : 0)
+                | (alert.getMessage() != null ? MESSAGE : 0)
+                | (alert.getSeverity() != null ? SEVERITY : 0)
+                | (alert.getSource() != null ? SOURCE : 0)
+                | (alert.getTimestamp() != null ? TIMESTAMP : 0);
+
+        Writer out = WRITERS.get().reset();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(presence);
+        out.writeString(alert.getId());
+        out.writeString(alert.getClientId());
+        out.writeString(alert.getAlertType());
+        out.writeString(alert.getMessage());
+        if (alert.getSeverity() != null) {
+            out.writeByte(alert.getSeverity().ordinal());
+        }
+        out.writeString(alert.getSource());
+        if (alert.getTimestamp() != null) {
+            long seconds = alert.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            out.writeVarLong((seconds << 1) ^ (seconds >> 63));
+            out.writeVarLong(alert.getTimestamp().getNano());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Alert decode(byte[] payload) throws IOException {
+        Reader in = new Reader(payload);
+        if (in.readByte() != (MAGIC & 0xff)) {
+            throw new IOException("Not a binary alert payload");
+        }
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary alert payload version " + version);
+        }
+        int presence = in.readByte();
+
+        Alert alert = new Alert();
+        alert.setId((presence & ID) != 0 ? in.readString() : null);
+        alert.setClientId((presence & CLIENT_ID) != 0 ? in.readString() : null);
+        alert.setAlertType((presence & ALERT_TYPE) != 0 ? in.readString() : null);
+        alert.setMessage((presence & MESSAGE) != 0 ? in.readString() : null);
+        if ((presence & SEVERITY) != 0) {
+            int ordinal = in.readByte();
+            if (ordinal >= SEVERITIES.length) {
+                throw new IOException("Unknown severity ordinal " + ordinal);
+            }
+            alert.setSeverity(SEVERITIES[ordinal]);
+        }
+        alert.setSource((presence & SOURCE) != 0 ? in.readString() : null);
+        if ((presence & TIMESTAMP) != 0) {
+            long zigZag = in.readVarLong();
+            long seconds = (zigZag >>> 1) ^ -(zigZag & 1);
+            int nanos = (int) in.readVarLong();
+            alert.setTimestamp(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        }
+        return alert;
+    }
+
+    /**
+     * Reusable per-thread output buffer; strings are UTF-8 encoded in place.
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[512];
+        private int position;
+
+        private Writer reset() {
+            position = 0;
+            return this;
+        }
+
+        private void writeByte(int b) {
+            ensure(1);
+            buffer[position++] = (byte) b;
+        }
+
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                return;
+            }
+            int length = value.length();
+            int utf8Length = utf8Length(value);
+            writeVarLong(utf8Length);
+            ensure(utf8Length);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xc0 | (c >>> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, value.charAt(++i));
+                        buffer[position++] = (byte) (0xf0 | (cp >>> 18));
+                        buffer[position++] = (byte) (0x80 | ((cp >>> 12) & 0x3f));
+                        buffer[position++] = (byte) (0x80 | ((cp >>> 6) & 0x3f));
+                        buffer[position++] = (byte) (0x80 | (cp & 0x3f));
+                    } else {
+                        buffer[position++] = '?';
+                    }
+                } else {
+                    buffer[position++] = (byte) (0xe0 | (c >>> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >>> 6) & 0x3f));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+        }
+
+        private static int utf8Length(String value) {
+            int length = value.length();
+            int bytes = 0;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        bytes += 4;
+                        i++;
+                    } else {
+                        bytes += 1;
+                    }
+                } else {
+                    bytes += 3;
+                }
+            }
+            return bytes;
+        }
+
+        private void ensure(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int readByte() throws IOException {
+            if (position >= data.length) {
+                throw new IOException("Truncated binary alert payload");
+            }
+            return data[position++] & 0xff;
+        }
+
+        private long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint in binary alert payload");
+        }
+
+        private String readString() throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new IOException("Truncated binary alert payload");
+            }
+            String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+    }
+}
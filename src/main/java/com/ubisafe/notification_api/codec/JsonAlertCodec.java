@@ -0,0 +1,33 @@
+package com.ubisafe.notification_api.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.domain.Alert;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * The original wire format: the Jackson JSON document of the alert, written straight to UTF-8.
+ */
+@RequiredArgsConstructor
+public class JsonAlertCodec implements AlertPayloadCodec {
+
+    public static final String NAME = "json";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Alert alert) throws IOException {
+        return objectMapper.writeValueAsBytes(alert);
+    }
+
+    @Override
+    public Alert decode(byte[] payload) throws IOException {
+        return objectMapper.readValue(payload, Alert.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ubisafe.notification_api.config;
+
+import com.ubisafe.notification_api.domain.Severity;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-severity publish lanes. Each lane has its own topic and its own producer instance, so its
+ * buffer memory and linger are not shared with other severities. Severities without a mapping
+ * use the default {@code alerts} topic and producer.
+ */
+@Data
+@ConfigurationProperties(prefix = "alert.lanes")
+public class AlertLaneProperties {
+
+    private boolean enabled = false;
+
+    private Map<Severity, String> severityMapping = new EnumMap<>(Severity.class);
+
+    private Map<String, Lane> definitions = new LinkedHashMap<>();
+
+    @Data
+    public static class Lane {
+
+        private String topic;
+
+        private int partitions = 3;
+
+        private Integer lingerMs;
+
+        private Integer batchSize;
+
+        private Long bufferMemory;
+    }
+}
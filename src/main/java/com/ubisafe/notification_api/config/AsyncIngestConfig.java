@@ -0,0 +1,37 @@
+package com.ubisafe.notification_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the non-blocking ingest path ({@code alert.ingest.mode=async}). It only runs the
+ * short CPU-bound tail of a request (serialization and the hand-off to the Kafka producer) after
+ * Redis has answered, so a small pool sized to the cores is enough.
+ */
+@Configuration
+@ConditionalOnProperty(name = "alert.ingest.mode", havingValue = "async")
+public class AsyncIngestConfig {
+
+    public static final String INGEST_EXECUTOR = "alertIngestExecutor";
+
+    @Value("${alert.ingest.async.pool-size:0}")
+    private int poolSize;
+
+    @Value("${alert.ingest.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Bean(name = INGEST_EXECUTOR)
+    public ThreadPoolTaskExecutor alertIngestExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("alert-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ubisafe.notification_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.codec.AlertPayloadCodec;
+import com.ubisafe.notification_api.codec.AlertPayloadDeserializer;
+import com.ubisafe.notification_api.dispatch.AlertChannel;
+import com.ubisafe.notification_api.dispatch.AlertDispatcher;
+import com.ubisafe.notification_api.dispatch.DeadLetterPublisher;
+import com.ubisafe.notification_api.dispatch.StubAlertChannel;
+import com.ubisafe.notification_api.domain.Alert;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alert dispatching ({@code alert.dispatch.enabled}). Offsets are committed per batch after the
+ * listener returns, i.e. after every delivery in the batch has finished or was dead-lettered; a
+ * batch that fails is retried with backoff, without limit, rather than committed. The consumer
+ * reads committed records only, so alerts from an aborted publish transaction are never delivered.
+ * <p>
+ * The beans are always defined and {@code alert.dispatch.enabled} only decides, at runtime, whether
+ * the listener starts. A property condition would be fixed when the {@code fast-startup} build
+ * runs Spring AOT, and the image could then never turn dispatching on.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DispatchProperties.class)
+public class DispatchConfig {
+
+    public static final String CONTAINER_FACTORY = "alertDispatchContainerFactory";
+    public static final String DELIVERY_EXECUTOR = "alertDeliveryExecutor";
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Bean(name = CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, Alert> alertDispatchContainerFactory(
+            DispatchProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, properties.getGroupId());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getMaxPollRecords());
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+
+        // undecodable payloads arrive as null values instead of failing the whole poll
+        DefaultKafkaConsumerFactory<String, Alert> consumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ErrorHandlingDeserializer<>(new AlertPayloadDeserializer(objectMapper)));
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+
+        ConcurrentKafkaListenerContainerFactory<String, Alert> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.getConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        // a failed batch (dead-letter write failed, or shutdown) is retried until it goes through
+        ExponentialBackOff backOff = new ExponentialBackOff(Math.max(100, properties.getRetryBackoffMs()), 2.0);
+        backOff.setMaxInterval(30_000);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        log.info("Alert dispatch enabled={}: topics={}, groupId={}, concurrency={}, maxPollRecords={}", properties.isEnabled(),
+                properties.getTopics(), properties.getGroupId(), properties.getConcurrency(), properties.getMaxPollRecords());
+        return factory;
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics deadLetterTopics(DispatchProperties properties, DeadLetterPublisher deadLetterPublisher) {
+        if (!properties.isEnabled()) {
+            return new KafkaAdmin.NewTopics();
+        }
+        return new KafkaAdmin.NewTopics(properties.getTopics().stream()
+                .map(topic -> TopicBuilder.name(deadLetterPublisher.topicFor(topic.trim()))
+                        .partitions(3)
+                        .replicas(1)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    public DeadLetterPublisher deadLetterPublisher(DispatchProperties properties, KafkaTemplate<String, byte[]> kafkaTemplate,
+                                                   AlertPayloadCodec payloadCodec) {
+        return new DeadLetterPublisher(kafkaTemplate, payloadCodec, properties.getDeadLetterSuffix(),
+                properties.getDeadLetterTimeoutMs());
+    }
+
+    @Bean(name = DELIVERY_EXECUTOR)
+    public ThreadPoolTaskExecutor alertDeliveryExecutor(DispatchProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getDeliveryThreads());
+        executor.setMaxPoolSize(properties.getDeliveryThreads());
+        executor.setThreadNamePrefix("alert-delivery-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Channels are the enabled {@code alert.dispatch.channels} entries, backed by local stubs, plus
+     * any {@link AlertChannel} beans in the context.
+     */
+    @Bean
+    public AlertDispatcher alertDispatcher(DispatchProperties properties,
+                                           @Qualifier(DELIVERY_EXECUTOR) ThreadPoolTaskExecutor executor,
+                                           ObjectProvider<AlertChannel> channelBeans,
+                                           DeadLetterPublisher deadLetterPublisher,
+                                           MeterRegistry meterRegistry) {
+        List<AlertChannel> channels = new ArrayList<>();
+        properties.getChannels().forEach((name, channel) -> {
+            if (channel.isEnabled()) {
+                channels.add(new StubAlertChannel(name, channel.getSeverities(), Duration.ofMillis(channel.getLatencyMs())));
+            }
+        });
+        channelBeans.orderedStream().forEach(channels::add);
+        if (properties.isEnabled() && channels.isEmpty()) {
+            throw new IllegalStateException("alert.dispatch.enabled needs at least one enabled channel");
+        }
+        return new AlertDispatcher(channels, executor, properties.getMaxAttempts(), properties.getRetryBackoffMs(),
+                deadLetterPublisher, meterRegistry);
+    }
+}
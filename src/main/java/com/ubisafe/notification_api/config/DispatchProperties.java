@@ -0,0 +1,70 @@
+package com.ubisafe.notification_api.config;
+
+import com.ubisafe.notification_api.domain.Severity;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consumer side of the service: a batch listener on the alert topics that delivers every alert to
+ * its channels. Off by default, so an instance only publishes unless dispatching is switched on.
+ * Read at runtime, including in the AOT-processed image.
+ */
+@Data
+@ConfigurationProperties(prefix = "alert.dispatch")
+public class DispatchProperties {
+
+    private boolean enabled = false;
+
+    private String groupId = "notification-dispatcher";
+
+    private List<String> topics = List.of(KafkaProducerConfig.ALERTS_TOPIC);
+
+    /**
+     * Listener containers per instance; more than the topics' partition count leaves some idle.
+     */
+    private int concurrency = 3;
+
+    private int maxPollRecords = 500;
+
+    /**
+     * Threads running channel deliveries, shared by all containers. Deliveries mostly wait on I/O,
+     * so this is sized for the number of provider calls in flight, not for the cores.
+     */
+    private int deliveryThreads = 64;
+
+    private int maxAttempts = 3;
+
+    private long retryBackoffMs = 200;
+
+    /**
+     * Deliveries that failed every attempt go to {@code <topic><dead-letter-suffix>} before the
+     * batch is committed.
+     */
+    private String deadLetterSuffix = ".dlt";
+
+    private long deadLetterTimeoutMs = 30_000;
+
+    private Map<String, Channel> channels = new LinkedHashMap<>();
+
+    @Data
+    public static class Channel {
+
+        private boolean enabled = true;
+
+        /**
+         * Severities delivered on this channel; empty means all of them.
+         */
+        private Set<Severity> severities = EnumSet.noneOf(Severity.class);
+
+        /**
+         * Simulated provider latency of the local stub.
+         */
+        private long latencyMs = 0;
+    }
+}
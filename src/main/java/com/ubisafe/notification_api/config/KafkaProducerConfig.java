@@ -1,47 +1,276 @@
 package com.ubisafe.notification_api.config;
 
+import com.ubisafe.notification_api.domain.Severity;
+import com.ubisafe.notification_api.service.AlertLane;
+import com.ubisafe.notification_api.service.AlertLaneRouter;
+import com.ubisafe.notification_api.service.AlertPartitioner;
+import com.ubisafe.notification_api.service.PartitionSkewMonitor;
+import com.ubisafe.notification_api.service.TransactionalAlertPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AlertLaneProperties.class)
 public class KafkaProducerConfig {
 
+    public static final String ALERTS_TOPIC = "alerts";
+
+    private final MeterRegistry meterRegistry;
+    private final AlertLaneProperties laneProperties;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${alert.kafka.partitioning.strategy:content-hash}")
+    private String partitioning;
+
+    @Value("${alert.kafka.partitioning.hot-key.threshold:1000}")
+    private long hotKeyThreshold;
+
+    @Value("${alert.kafka.partitioning.hot-key.window-ms:1000}")
+    private long hotKeyWindowMs;
+
+    @Value("${alert.kafka.partitioning.hot-key.spread:4}")
+    private int hotKeySpread;
+
+    @Value("${alert.kafka.partitioning.hot-key.max-tracked-keys:10000}")
+    private int hotKeyMaxTrackedKeys;
+
+    @Value("${alert.kafka.partitioning.skew-window-ms:10000}")
+    private long skewWindowMs;
+
+    @Value("${alert.deduplication.aggregation.enabled:false}")
+    private boolean rollupsEnabled;
+
+    @Value("${alert.deduplication.aggregation.topic:alerts.rollups}")
+    private String rollupsTopic;
+
+    @Value("${alert.kafka.transactions.enabled:false}")
+    private boolean transactionsEnabled;
+
+    @Value("${alert.kafka.transactions.transaction-id-prefix:alert-tx-}")
+    private String transactionIdPrefix;
+
+    @Value("${alert.kafka.transactions.batch-size:500}")
+    private int transactionBatchSize;
+
+    @Value("${alert.kafka.transactions.linger-ms:10}")
+    private long transactionLingerMs;
+
+    @Value("${alert.kafka.producer.profile:ordered-safe}")
+    private String profile;
+
+    @Value("${alert.kafka.producer.linger-ms:}")
+    private Integer lingerMs;
+
+    @Value("${alert.kafka.producer.batch-size:}")
+    private Integer batchSize;
+
+    @Value("${alert.kafka.producer.compression-type:}")
+    private String compressionType;
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
-        return new DefaultKafkaProducerFactory<>(configProps);
+    public ProducerFactory<String, byte[]> producerFactory() {
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(producerProperties());
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry,
+                List.of(Tag.of("lane", AlertLaneRouter.DEFAULT_LANE))));
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    @Bean
+    public PartitionSkewMonitor partitionSkewMonitor() {
+        return new PartitionSkewMonitor(meterRegistry, skewWindowMs);
+    }
+
     @Bean
     public NewTopic alertsTopic() {
-        return TopicBuilder.name("alerts")
+        return TopicBuilder.name(ALERTS_TOPIC)
                 .partitions(3)
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public KafkaAdmin.NewTopics laneTopics() {
+        List<NewTopic> topics = new ArrayList<>();
+        if (laneProperties.isEnabled()) {
+            laneProperties.getDefinitions().forEach((name, lane) -> {
+                if (!ALERTS_TOPIC.equals(lane.getTopic())) {
+                    topics.add(TopicBuilder.name(lane.getTopic())
+                            .partitions(lane.getPartitions())
+                            .replicas(1)
+                            .build());
+                }
+            });
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics rollupTopics() {
+        if (!rollupsEnabled) {
+            return new KafkaAdmin.NewTopics();
+        }
+        return new KafkaAdmin.NewTopics(TopicBuilder.name(rollupsTopic)
+                .partitions(3)
+                .replicas(1)
+                .build());
+    }
+
+    /**
+     * Transactional producer for {@code alert.kafka.transactions.enabled}: the active profile with
+     * idempotence forced on, which transactions require. The transactional id prefix must be unique
+     * per instance, otherwise instances fence each other's producers.
+     * <p>
+     * Not a bean: the router owns it, and building it here keeps the flag a runtime decision in
+     * the AOT image, where a property condition would be fixed at build time.
+     */
+    private TransactionalAlertPublisher transactionalAlertPublisher() {
+        if (!transactionsEnabled) {
+            return null;
+        }
+        Map<String, Object> props = producerProperties();
+        props.put(ProducerConfig.CLIENT_ID_CONFIG, "alert-transactional");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(props);
+        factory.setTransactionIdPrefix(transactionIdPrefix);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry, List.of(Tag.of("lane", "transactional"))));
+        log.info("Kafka transactions: transactionIdPrefix={}", transactionIdPrefix);
+        return new TransactionalAlertPublisher(new KafkaTemplate<>(factory), transactionBatchSize, transactionLingerMs,
+                meterRegistry);
+    }
+
+    /**
+     * Routes alerts to per-severity lanes when {@code alert.lanes.enabled}; otherwise every
+     * severity shares the default template and the {@code alerts} topic. Each configured lane gets
+     * a dedicated producer built from the active profile plus the lane's own overrides.
+     */
+    @Bean
+    public AlertLaneRouter alertLaneRouter() {
+        KafkaTemplate<String, byte[]> defaultTemplate = kafkaTemplate();
+        PartitioningStrategy strategy = PartitioningStrategy.fromKey(partitioning);
+        TransactionalAlertPublisher transactions = transactionalAlertPublisher();
+        if (!laneProperties.isEnabled()) {
+            return AlertLaneRouter.single(defaultTemplate, ALERTS_TOPIC, meterRegistry, strategy::recordKey, transactions);
+        }
+
+        Map<String, AlertLane> lanes = new HashMap<>();
+        List<DefaultKafkaProducerFactory<String, byte[]>> factories = new ArrayList<>();
+        laneProperties.getDefinitions().forEach((name, definition) -> {
+            if (definition.getTopic() == null || definition.getTopic().isBlank()) {
+                throw new IllegalStateException("alert.lanes.definitions." + name + ".topic is required");
+            }
+            Map<String, Object> props = producerProperties();
+            props.put(ProducerConfig.CLIENT_ID_CONFIG, "alert-lane-" + name);
+            if (definition.getLingerMs() != null) {
+                props.put(ProducerConfig.LINGER_MS_CONFIG, definition.getLingerMs());
+            }
+            if (definition.getBatchSize() != null) {
+                props.put(ProducerConfig.BATCH_SIZE_CONFIG, definition.getBatchSize());
+            }
+            if (definition.getBufferMemory() != null) {
+                props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, definition.getBufferMemory());
+            }
+            DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(props);
+            factory.addListener(new MicrometerProducerListener<>(meterRegistry, List.of(Tag.of("lane", name))));
+            factories.add(factory);
+            lanes.put(name, new AlertLane(name, definition.getTopic(), new KafkaTemplate<>(factory),
+                    AlertLaneRouter.ackTimer(name, meterRegistry)));
+            log.info("Kafka lane {}: topic={}, lingerMs={}, batchSize={}, bufferMemory={}", name, definition.getTopic(),
+                    props.getOrDefault(ProducerConfig.LINGER_MS_CONFIG, "default"),
+                    props.getOrDefault(ProducerConfig.BATCH_SIZE_CONFIG, "default"),
+                    props.getOrDefault(ProducerConfig.BUFFER_MEMORY_CONFIG, "default"));
+        });
+
+        Map<Severity, AlertLane> bySeverity = new EnumMap<>(Severity.class);
+        laneProperties.getSeverityMapping().forEach((severity, laneName) -> {
+            AlertLane lane = lanes.get(laneName);
+            if (lane == null) {
+                throw new IllegalStateException("alert.lanes.severity-mapping." + severity + " refers to unknown lane " + laneName);
+            }
+            bySeverity.put(severity, lane);
+        });
+
+        AlertLane defaultLane = new AlertLane(AlertLaneRouter.DEFAULT_LANE, ALERTS_TOPIC, defaultTemplate,
+                AlertLaneRouter.ackTimer(AlertLaneRouter.DEFAULT_LANE, meterRegistry));
+        return new AlertLaneRouter(defaultLane, bySeverity, factories, strategy::recordKey, transactions);
+    }
+
+    private Map<String, Object> producerProperties() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        applyProfile(configProps);
+        applyPartitioning(configProps);
+        return configProps;
+    }
+
+    private void applyPartitioning(Map<String, Object> configProps) {
+        PartitioningStrategy strategy = PartitioningStrategy.fromKey(partitioning);
+        strategy.apply(configProps);
+        configProps.put(AlertPartitioner.SKEW_MONITOR, partitionSkewMonitor());
+        if (strategy == PartitioningStrategy.HOT_KEY) {
+            configProps.put(AlertPartitioner.HOT_KEY_THRESHOLD, hotKeyThreshold);
+            configProps.put(AlertPartitioner.HOT_KEY_WINDOW_MS, hotKeyWindowMs);
+            configProps.put(AlertPartitioner.HOT_KEY_SPREAD, hotKeySpread);
+            configProps.put(AlertPartitioner.HOT_KEY_MAX_TRACKED_KEYS, hotKeyMaxTrackedKeys);
+            log.info("Kafka partitioning={}: threshold={} per {}ms, spread={}, maxTrackedKeys={}",
+                    strategy.key(), hotKeyThreshold, hotKeyWindowMs, hotKeySpread, hotKeyMaxTrackedKeys);
+        } else {
+            log.info("Kafka partitioning={}", strategy.key());
+        }
+    }
+
+    private void applyProfile(Map<String, Object> configProps) {
+        ProducerProfile producerProfile = ProducerProfile.fromKey(profile);
+        producerProfile.apply(configProps);
+        if (lingerMs != null) {
+            configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        }
+        if (batchSize != null) {
+            configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        }
+        if (compressionType != null && !compressionType.isBlank()) {
+            configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        }
+        log.info("Kafka producer profile={}: acks={}, idempotence={}, maxInFlight={}, lingerMs={}, batchSize={}, compression={}",
+                producerProfile.key(),
+                configProps.get(ProducerConfig.ACKS_CONFIG),
+                configProps.getOrDefault(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "default"),
+                configProps.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION),
+                configProps.getOrDefault(ProducerConfig.LINGER_MS_CONFIG, "default"),
+                configProps.getOrDefault(ProducerConfig.BATCH_SIZE_CONFIG, "default"),
+                configProps.getOrDefault(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none"));
+    }
 }
@@ -0,0 +1,72 @@
+package com.ubisafe.notification_api.config;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.service.AlertPartitioner;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * How alert records are keyed and spread over partitions, selected with
+ * {@code alert.kafka.partitioning.strategy}.
+ * <ul>
+ *   <li>{@code content-hash}: keyed by the alert id, so every distinct alert lands on an effectively
+ *   random partition (original behaviour).</li>
+ *   <li>{@code client}: keyed by {@code clientId}; a client's alerts share a partition and stay in
+ *   order.</li>
+ *   <li>{@code hot-key}: keyed by {@code clientId} like {@code client}, but clients detected as heavy
+ *   are spread over a bounded set of partitions, trading their ordering for balance.</li>
+ * </ul>
+ * All three place records with {@link AlertPartitioner}, which reports per-partition load.
+ */
+public enum PartitioningStrategy {
+
+    CONTENT_HASH("content-hash") {
+        @Override
+        public String recordKey(Alert alert) {
+            return alert.getId();
+        }
+    },
+    CLIENT("client") {
+        @Override
+        public String recordKey(Alert alert) {
+            return alert.getClientId();
+        }
+    },
+    HOT_KEY("hot-key") {
+        @Override
+        public String recordKey(Alert alert) {
+            return alert.getClientId();
+        }
+
+        @Override
+        void apply(Map<String, Object> props) {
+            super.apply(props);
+            props.put(AlertPartitioner.HOT_KEY_ENABLED, true);
+        }
+    };
+
+    private final String key;
+
+    PartitioningStrategy(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public abstract String recordKey(Alert alert);
+
+    void apply(Map<String, Object> props) {
+        props.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, AlertPartitioner.class);
+    }
+
+    public static PartitioningStrategy fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(strategy -> strategy.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown alert.kafka.partitioning.strategy: " + key));
+    }
+}
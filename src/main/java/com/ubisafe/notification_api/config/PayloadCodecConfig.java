@@ -0,0 +1,29 @@
+package com.ubisafe.notification_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.codec.AlertPayloadCodec;
+import com.ubisafe.notification_api.codec.BinaryAlertCodec;
+import com.ubisafe.notification_api.codec.JsonAlertCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class PayloadCodecConfig {
+
+    @Value("${alert.payload.codec:json}")
+    private String codec;
+
+    @Bean
+    public AlertPayloadCodec alertPayloadCodec(ObjectMapper objectMapper) {
+        AlertPayloadCodec selected = switch (codec.toLowerCase()) {
+            case JsonAlertCodec.NAME -> new JsonAlertCodec(objectMapper);
+            case BinaryAlertCodec.NAME -> new BinaryAlertCodec();
+            default -> throw new IllegalArgumentException("Unknown alert.payload.codec: " + codec);
+        };
+        log.info("Alert payload codec={}", selected.name());
+        return selected;
+    }
+}
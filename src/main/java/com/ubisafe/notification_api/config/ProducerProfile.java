@@ -0,0 +1,69 @@
+package com.ubisafe.notification_api.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Named Kafka producer tunings selected with {@code alert.kafka.producer.profile}.
+ * <ul>
+ *   <li>{@code ordered-safe}: one request in flight per connection, no batching delay (original settings).</li>
+ *   <li>{@code throughput}: idempotent producer with 5 in-flight requests, which keeps per-partition
+ *   ordering, plus linger/batch tuning and compression.</li>
+ *   <li>{@code low-latency}: leader-only acks, no linger and no compression.</li>
+ * </ul>
+ */
+public enum ProducerProfile {
+
+    ORDERED_SAFE("ordered-safe") {
+        @Override
+        void apply(Map<String, Object> props) {
+            props.put(ProducerConfig.ACKS_CONFIG, "all");
+            props.put(ProducerConfig.RETRIES_CONFIG, 3);
+            props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
+        }
+    },
+    THROUGHPUT("throughput") {
+        @Override
+        void apply(Map<String, Object> props) {
+            props.put(ProducerConfig.ACKS_CONFIG, "all");
+            props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            props.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+            props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+            props.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+            props.put(ProducerConfig.BATCH_SIZE_CONFIG, 128 * 1024);
+            props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        }
+    },
+    LOW_LATENCY("low-latency") {
+        @Override
+        void apply(Map<String, Object> props) {
+            props.put(ProducerConfig.ACKS_CONFIG, "1");
+            props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+            props.put(ProducerConfig.RETRIES_CONFIG, 3);
+            props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+            props.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+            props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none");
+        }
+    };
+
+    private final String key;
+
+    ProducerProfile(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    abstract void apply(Map<String, Object> props);
+
+    public static ProducerProfile fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown alert.kafka.producer.profile: " + key));
+    }
+}
@@ -0,0 +1,21 @@
+package com.ubisafe.notification_api.config;
+
+import com.ubisafe.notification_api.service.ClientRateLimiter;
+import com.ubisafe.notification_api.service.RedisTokenLeaseSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties properties,
+                                               RedisTemplate<String, String> redisTemplate,
+                                               MeterRegistry meterRegistry) {
+        return new ClientRateLimiter(properties, new RedisTokenLeaseSource(redisTemplate), meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ubisafe.notification_api.config;
+
+import com.ubisafe.notification_api.domain.Severity;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-client token-bucket limits. The most specific limit wins: client and severity, then client,
+ * then severity, then the global default. Each client and severity pair has its own bucket.
+ */
+@Data
+@ConfigurationProperties(prefix = "alert.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Tokens a node takes from Redis at a time and spends locally.
+     */
+    private int leaseSize = 20;
+
+    /**
+     * Unspent leased tokens are dropped after this long so idle nodes do not hoard quota.
+     */
+    private long leaseTtlMs = 1000;
+
+    private Limit defaults = new Limit();
+
+    private Map<Severity, Limit> severity = new EnumMap<>(Severity.class);
+
+    private Map<String, Client> clients = new LinkedHashMap<>();
+
+    public Limit limitFor(String clientId, Severity alertSeverity) {
+        Client client = clientId == null ? null : clients.get(clientId);
+        if (client != null) {
+            Limit limit = alertSeverity == null ? null : client.getSeverity().get(alertSeverity);
+            if (limit != null) {
+                return limit;
+            }
+            if (client.getDefaults() != null) {
+                return client.getDefaults();
+            }
+        }
+        Limit limit = alertSeverity == null ? null : severity.get(alertSeverity);
+        return limit != null ? limit : defaults;
+    }
+
+    @Data
+    public static class Limit {
+
+        /**
+         * Burst size: tokens the bucket holds when full.
+         */
+        private long capacity = 200;
+
+        private double refillPerSecond = 100;
+    }
+
+    @Data
+    public static class Client {
+
+        private Limit defaults;
+
+        private Map<Severity, Limit> severity = new EnumMap<>(Severity.class);
+    }
+}
@@ -1,14 +1,24 @@
 package com.ubisafe.notification_api.config;
 
+import com.ubisafe.notification_api.service.DedupShard;
+import com.ubisafe.notification_api.service.DedupShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
@@ -18,20 +28,92 @@ public class RedisConfig {
     @Value("${spring.data.redis.port:6379}")
     private int port;
 
+    @Value("${spring.data.redis.timeout:2000ms}")
+    private Duration timeout;
+
+    @Value("${alert.deduplication.shards.nodes:}")
+    private List<String> shardNodes;
+
+    @Value("${alert.deduplication.shards.virtual-nodes:160}")
+    private int virtualNodes;
+
+    @Value("${alert.deduplication.circuit-breaker.enabled:true}")
+    private boolean breakerEnabled;
+
+    @Value("${alert.deduplication.circuit-breaker.slow-call-ms:100}")
+    private long breakerSlowCallMs;
+
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(host, port);
-        return new LettuceConnectionFactory(config);
+        return new LettuceConnectionFactory(config, LettuceClientConfiguration.builder().commandTimeout(timeout).build());
     }
 
     @Bean
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return stringTemplate(connectionFactory);
+    }
+
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * Where {@code alert:dedup:*} keys live. Without {@code alert.deduplication.shards.nodes} that is
+     * the main Redis; otherwise the keys are spread over the listed {@code host:port} nodes by
+     * consistent hashing, each node with its own connection.
+     * <p>
+     * With the circuit breaker on, dedup connections time commands out at its slow-call budget, so
+     * no request waits the full {@code spring.data.redis.timeout} on a slow shard before the
+     * breaker trips; the main Redis then gets a dedup connection of its own.
+     */
+    @Bean
+    public DedupShardRouter dedupShardRouter(RedisTemplate<String, String> redisTemplate,
+                                             ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                                             MeterRegistry meterRegistry) {
+        List<String> nodes = shardNodes.stream().map(String::trim).filter(node -> !node.isEmpty()).toList();
+        Duration commandTimeout = breakerEnabled ? Duration.ofMillis(breakerSlowCallMs) : timeout;
+        if (nodes.isEmpty() && commandTimeout.compareTo(timeout) >= 0) {
+            return DedupShardRouter.single(redisTemplate, reactiveStringRedisTemplate, meterRegistry);
+        }
+        if (nodes.isEmpty()) {
+            LettuceConnectionFactory factory = dedupConnectionFactory(host, port, commandTimeout);
+            return new DedupShardRouter(List.of(DedupShardRouter.shard("default", stringTemplate(factory),
+                    new ReactiveStringRedisTemplate(factory), meterRegistry)), 1, List.of(factory::destroy));
+        }
+        List<DedupShard> shards = new ArrayList<>(nodes.size());
+        List<AutoCloseable> factories = new ArrayList<>(nodes.size());
+        for (String node : nodes) {
+            int colon = node.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalStateException("alert.deduplication.shards.nodes entries must be host:port, got " + node);
+            }
+            LettuceConnectionFactory factory = dedupConnectionFactory(node.substring(0, colon),
+                    Integer.parseInt(node.substring(colon + 1)), commandTimeout);
+            factories.add(factory::destroy);
+            shards.add(DedupShardRouter.shard(node, stringTemplate(factory), new ReactiveStringRedisTemplate(factory),
+                    meterRegistry));
+        }
+        return new DedupShardRouter(shards, virtualNodes, factories);
+    }
+
+    private static LettuceConnectionFactory dedupConnectionFactory(String host, int port, Duration commandTimeout) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port),
+                LettuceClientConfiguration.builder().commandTimeout(commandTimeout).build());
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    private static RedisTemplate<String, String> stringTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
         template.setHashValueSerializer(new StringRedisSerializer());
+        template.afterPropertiesSet();
         return template;
     }
 }
@@ -0,0 +1,48 @@
+package com.ubisafe.notification_api.config;
+
+import com.ubisafe.notification_api.spill.MappedSpillLog;
+import com.ubisafe.notification_api.spill.SpillLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.file.Path;
+
+@Slf4j
+@Configuration
+public class SpillConfig {
+
+    @Value("${alert.spill.enabled:false}")
+    private boolean enabled;
+
+    @Value("${alert.spill.directory:./spill}")
+    private String directory;
+
+    @Value("${alert.spill.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${alert.spill.group-commit-interval-ms:200}")
+    private long groupCommitIntervalMs;
+
+    @Value("${alert.spill.replay-interval-ms:1000}")
+    private long replayIntervalMs;
+
+    @Value("${alert.spill.replay-batch-size:500}")
+    private int replayBatchSize;
+
+    @Value("${alert.spill.replay-timeout-ms:10000}")
+    private long replayTimeoutMs;
+
+    @Bean
+    public SpillLog spillLog(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        if (!enabled) {
+            log.info("Alert spill log disabled");
+            return SpillLog.disabled();
+        }
+        return new MappedSpillLog(Path.of(directory), segmentBytes, groupCommitIntervalMs, replayIntervalMs,
+                replayBatchSize, replayTimeoutMs, kafkaTemplate::send, meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ubisafe.notification_api.config;
+
+import com.ubisafe.notification_api.controller.AlertController;
+import com.ubisafe.notification_api.controller.AsyncAlertController;
+import com.ubisafe.notification_api.dispatch.AlertDispatcher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the ingest path eager when {@code spring.main.lazy-initialization} is on. The alert
+ * controllers are created at startup and with them everything {@code POST /alerts} needs (the
+ * service, Redis shards, Kafka lanes, spill log), so the first alert after a scale-out does not
+ * pay for wiring them; the batch and stream endpoints, actuator and the rest are created on first use.
+ * The {@link AlertDispatcher} is eager as well, since its listener only registers when it is created.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerIngestPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AlertController.class, AsyncAlertController.class,
+                AlertDispatcher.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ubisafe.notification_api.controller;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.exception.InvalidBatchException;
+import com.ubisafe.notification_api.service.AlertMetrics;
+import com.ubisafe.notification_api.service.AlertService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Slf4j
+@RestController
+@RequestMapping("/alerts")
+@RequiredArgsConstructor
+public class AlertBatchController {
+
+    private final AlertService alertService;
+    private final Validator validator;
+    private final AlertMetrics metrics;
+    private final KafkaAckPolicy ackPolicy;
+
+    @Value("${alert.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> createAlerts(@RequestBody List<Alert> alerts) {
+        if (alerts.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one alert");
+        }
+        if (alerts.size() > maxBatchSize) {
+            throw new InvalidBatchException("Batch size " + alerts.size() + " exceeds the maximum of " + maxBatchSize);
+        }
+        log.info("Received alert batch: size={}", alerts.size());
+
+        List<Map<String, Object>> results = new ArrayList<>(alerts.size());
+        List<Alert> valid = new ArrayList<>(alerts.size());
+        List<Integer> validIndexes = new ArrayList<>(alerts.size());
+        int rejected = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < alerts.size(); i++) {
+            Alert alert = alerts.get(i);
+            Set<ConstraintViolation<Alert>> violations = alert == null ? Set.of() : validator.validate(alert);
+            if (alert == null || !violations.isEmpty()) {
+                Map<String, String> errors = new TreeMap<>();
+                violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("index", i);
+                result.put("status", "REJECTED");
+                result.put("error", "Validation Failed");
+                result.put("errors", errors);
+                results.add(result);
+                rejected++;
+            } else {
+                valid.add(alert);
+                validIndexes.add(i);
+                results.add(null);
+            }
+        }
+        metrics.recordStage(AlertMetrics.Stage.VALIDATE, start);
+
+        int accepted = 0;
+        int duplicates = 0;
+        List<Map<String, String>> published = valid.isEmpty() ? List.of() : alertService.publishAlerts(valid, ackPolicy.timeout());
+        for (int i = 0; i < published.size(); i++) {
+            int index = validIndexes.get(i);
+            Map<String, String> outcome = published.get(i);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", index);
+            result.putAll(outcome);
+            results.set(index, result);
+            if (!"ACCEPTED".equals(outcome.get("status"))) {
+                rejected++;
+            } else if ("true".equals(outcome.get("duplicate"))) {
+                duplicates++;
+            } else {
+                accepted++;
+            }
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total", alerts.size());
+        body.put("accepted", accepted);
+        body.put("duplicates", duplicates);
+        body.put("rejected", rejected);
+        body.put("results", results);
+
+        log.info("Alert batch processed: size={}, accepted={}, duplicates={}, rejected={}",
+                alerts.size(), accepted, duplicates, rejected);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(body);
+    }
+}
@@ -2,32 +2,61 @@ package com.ubisafe.notification_api.controller;
 
 import com.ubisafe.notification_api.domain.Alert;
 import com.ubisafe.notification_api.service.AlertService;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
 @RequestMapping("/alerts")
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "alert.ingest.mode", havingValue = "sync", matchIfMissing = true)
 public class AlertController {
 
     private final AlertService alertService;
+    private final KafkaAckPolicy ackPolicy;
+    private final AlertRequestCodec requestCodec;
 
+    /**
+     * Answers 202 as soon as the alert is handed to the producer. When the request asks for the
+     * Kafka ack (see {@link KafkaAckPolicy}) the answer is deferred through servlet async until the
+     * broker confirms or the wait times out, so no request thread is held meanwhile.
+     * <p>
+     * The body is decoded and the response written by {@link AlertRequestCodec}; {@code null} is
+     * returned whenever the response has already been written.
+     */
     @PostMapping
-    public ResponseEntity<Map<String, String>> createAlert(@Valid @RequestBody Alert alert) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> createAlert(
+            @RequestHeader(name = KafkaAckPolicy.HEADER, required = false) String ack,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Alert alert = requestCodec.decode(request, response);
+        if (alert == null) {
+            return null;
+        }
         log.info("Received alert: type={}, severity={}", alert.getAlertType(), alert.getSeverity());
 
+        if (ackPolicy.requiresConfirmation(alert, ack)) {
+            return alertService.publishAlertConfirmed(alert, ackPolicy.timeout())
+                    .thenApply(result -> {
+                        log.info("Alert processed id={}, duplicate={}, acknowledged={}",
+                                result.get("id"), result.get("duplicate"), result.get("acknowledged"));
+                        return KafkaAckPolicy.toResponse(result);
+                    });
+        }
+
         Map<String, String> result = alertService.publishAlert(alert);
 
         log.info("Alert processed id={}, duplicate={}", result.get("id"), result.get("duplicate"));
-        return ResponseEntity
-                .status(HttpStatus.ACCEPTED)
-                .body(result);
+        requestCodec.writeResult(response, HttpStatus.ACCEPTED, result);
+        return null;
     }
 }
@@ -0,0 +1,290 @@
+package com.ubisafe.notification_api.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Low-allocation request/response codec for {@code POST /alerts}. Replaces data binding plus
+ * {@code @Valid} on the hot path: the body is read with a streaming parser straight into an
+ * {@link Alert}, the constraints declared on {@link Alert} are checked by hand, and the fixed-shape
+ * 400 bodies are written from byte templates prepared at startup.
+ * <p>
+ * Field names, constraint messages and error bodies are the ones {@code GlobalExceptionHandler}
+ * produced; the messages are read from the annotations on {@link Alert} so the two cannot drift.
+ * Anything unusual (non-string scalars, array timestamps, unknown enum names) is handed to the
+ * {@link ObjectMapper} so it is accepted or rejected exactly as before.
+ */
+@Slf4j
+@Component
+public class AlertRequestCodec {
+
+    private static final byte[] TIMESTAMP_OPEN = ascii("{\"timestamp\":\"");
+    private static final byte[] VALIDATION_FAILED = ascii("\",\"status\":400,\"error\":\"Validation Failed\",\"errors\":{");
+    private static final byte[] VALIDATION_CLOSE = ascii("}}");
+    private static final byte[] MALFORMED = ascii("\",\"status\":400,\"error\":\"Malformed JSON Request\","
+            + "\"message\":\"Failed to parse JSON payload. Please check your request body format.\"}");
+
+    /**
+     * The constraints of {@link Alert}, one bit each in the mask returned by {@link #validate}.
+     */
+    private static final String[] FIELDS = {"clientId", "alertType", "message", "severity"};
+    private static final int SEVERITY = 1 << 3;
+
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final boolean failOnUnknownProperties;
+    private final byte[][] errorEntries;
+    private final String[] descriptions;
+
+    private volatile Timestamp timestamp = new Timestamp(0, null);
+
+    public AlertRequestCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.failOnUnknownProperties = objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.errorEntries = new byte[FIELDS.length][];
+        String[] messages = new String[FIELDS.length];
+        try {
+            for (int i = 0; i < FIELDS.length; i++) {
+                messages[i] = constraintMessage(FIELDS[i]);
+                errorEntries[i] = (objectMapper.writeValueAsString(FIELDS[i]) + ":"
+                        + objectMapper.writeValueAsString(messages[i])).getBytes(StandardCharsets.UTF_8);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode alert validation messages", e);
+        }
+        this.descriptions = new String[1 << FIELDS.length];
+        for (int mask = 0; mask < descriptions.length; mask++) {
+            StringBuilder description = new StringBuilder("{");
+            for (int i = 0; i < FIELDS.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    description.append(description.length() > 1 ? ", " : "").append(FIELDS[i]).append('=').append(messages[i]);
+                }
+            }
+            descriptions[mask] = description.append('}').toString();
+        }
+    }
+
+    /**
+     * Reads and validates the request body. Returns {@code null} when the request was rejected, in
+     * which case the 400 response has already been written.
+     */
+    public Alert decode(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Alert alert;
+        try {
+            alert = read(request.getInputStream());
+        } catch (JsonProcessingException e) {
+            log.error("Malformed JSON request: {}", e.getOriginalMessage());
+            prepare(response, HttpStatus.BAD_REQUEST);
+            writeMalformed(response.getOutputStream());
+            return null;
+        }
+        int violations = validate(alert);
+        if (violations != 0) {
+            log.error("Validation error: {}", descriptions[violations]);
+            prepare(response, HttpStatus.BAD_REQUEST);
+            writeValidationFailed(violations, response.getOutputStream());
+            return null;
+        }
+        return alert;
+    }
+
+    /**
+     * Writes a publish result as a flat JSON object, without going through the message converters.
+     */
+    public void writeResult(HttpServletResponse response, HttpStatus status, Map<String, String> result) throws IOException {
+        prepare(response, status);
+        try (JsonGenerator out = jsonFactory.createGenerator(response.getOutputStream())) {
+            out.writeStartObject();
+            for (Map.Entry<String, String> entry : result.entrySet()) {
+                out.writeStringField(entry.getKey(), entry.getValue());
+            }
+            out.writeEndObject();
+        }
+    }
+
+    /**
+     * Parses one alert object. Field names come back canonicalized from the parser, so the only
+     * allocations are the alert and its field values.
+     *
+     * @throws JsonProcessingException when the body is not a JSON object that binds to {@link Alert}
+     */
+    public Alert read(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw JsonMappingException.from(parser, "Expected a JSON object for Alert");
+            }
+            Alert alert = new Alert();
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> alert.setId(text(parser));
+                    case "clientId" -> alert.setClientId(text(parser));
+                    case "alertType" -> alert.setAlertType(text(parser));
+                    case "message" -> alert.setMessage(text(parser));
+                    case "severity" -> alert.setSeverity(severity(parser));
+                    case "source" -> alert.setSource(text(parser));
+                    case "timestamp" -> alert.setTimestamp(parser.currentToken() == JsonToken.VALUE_NULL
+                            ? null : objectMapper.readValue(parser, LocalDateTime.class));
+                    default -> {
+                        if (failOnUnknownProperties) {
+                            throw JsonMappingException.from(parser, "Unrecognized field \"" + field + "\" for Alert");
+                        }
+                        parser.skipChildren();
+                    }
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw JsonMappingException.from(parser, "Unexpected token " + parser.currentToken() + " in Alert");
+            }
+            return alert;
+        }
+    }
+
+    /**
+     * Checks the {@code @NotBlank}/{@code @NotNull} constraints of {@link Alert}.
+     *
+     * @return a bit mask of the violated fields, {@code 0} when the alert is valid
+     */
+    public int validate(Alert alert) {
+        int violations = 0;
+        if (blank(alert.getClientId())) {
+            violations |= 1;
+        }
+        if (blank(alert.getAlertType())) {
+            violations |= 1 << 1;
+        }
+        if (blank(alert.getMessage())) {
+            violations |= 1 << 2;
+        }
+        if (alert.getSeverity() == null) {
+            violations |= SEVERITY;
+        }
+        return violations;
+    }
+
+    public void writeValidationFailed(int violations, OutputStream out) throws IOException {
+        out.write(TIMESTAMP_OPEN);
+        out.write(timestamp());
+        out.write(VALIDATION_FAILED);
+        boolean first = true;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if ((violations & (1 << i)) != 0) {
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(errorEntries[i]);
+                first = false;
+            }
+        }
+        out.write(VALIDATION_CLOSE);
+    }
+
+    public void writeMalformed(OutputStream out) throws IOException {
+        out.write(TIMESTAMP_OPEN);
+        out.write(timestamp());
+        out.write(MALFORMED);
+    }
+
+    private String text(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> objectMapper.readValue(parser, String.class);
+        };
+    }
+
+    private Severity severity(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            String name = parser.getText();
+            for (Severity severity : SEVERITIES) {
+                if (severity.name().equals(name)) {
+                    return severity;
+                }
+            }
+        }
+        return objectMapper.readValue(parser, Severity.class);
+    }
+
+    /**
+     * Same test as Hibernate Validator's {@code @NotBlank}: null, or nothing left after trimming.
+     */
+    private static boolean blank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code LocalDateTime.now()} as it appeared in the error bodies, re-rendered at most once per
+     * millisecond.
+     */
+    private byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp current = timestamp;
+        if (current.millis != now) {
+            current = new Timestamp(now, ascii(LocalDateTime.now().toString()));
+            timestamp = current;
+        }
+        return current.utf8;
+    }
+
+    private static void prepare(HttpServletResponse response, HttpStatus status) {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private static String constraintMessage(String fieldName) {
+        try {
+            Field field = Alert.class.getDeclaredField(fieldName);
+            NotBlank notBlank = field.getAnnotation(NotBlank.class);
+            return notBlank != null ? notBlank.message() : field.getAnnotation(NotNull.class).message();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Alert has no field " + fieldName, e);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record Timestamp(long millis, byte[] utf8) {
+    }
+}
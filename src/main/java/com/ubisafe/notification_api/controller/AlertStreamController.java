@@ -0,0 +1,229 @@
+package com.ubisafe.notification_api.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.service.AlertMetrics;
+import com.ubisafe.notification_api.service.AlertService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Bulk upload of newline-delimited JSON alerts, for backfills and collectors whose uploads are too
+ * large to buffer as one JSON array. The body is read line by line and published in chunks of
+ * {@code alert.stream.chunk-size} through {@link AlertService#publishAlerts}, so memory stays
+ * bounded by the chunk and the maximum line length whatever the upload size.
+ * <p>
+ * The response is NDJSON as well: with {@code results=lines} (the default) one result per non-blank
+ * input line, flushed after each chunk, followed by a summary line; with {@code results=summary}
+ * only the summary. Invalid lines are rejected individually without aborting the upload.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/alerts")
+public class AlertStreamController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final AlertService alertService;
+    private final Validator validator;
+    private final AlertMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader alertReader;
+    private final KafkaAckPolicy ackPolicy;
+
+    @Value("${alert.stream.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${alert.stream.max-line-bytes:65536}")
+    private int maxLineBytes;
+
+    public AlertStreamController(AlertService alertService, Validator validator, AlertMetrics metrics,
+                                 ObjectMapper objectMapper, KafkaAckPolicy ackPolicy) {
+        this.alertService = alertService;
+        this.validator = validator;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.alertReader = objectMapper.readerFor(Alert.class);
+        this.ackPolicy = ackPolicy;
+    }
+
+    @PostMapping(path = "/stream", consumes = NDJSON, produces = NDJSON)
+    public void streamAlerts(@RequestParam(name = "results", defaultValue = "lines") String results,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean perLine = !"summary".equalsIgnoreCase(results);
+        response.setStatus(HttpStatus.ACCEPTED.value());
+        response.setContentType(NDJSON);
+
+        Tally tally = new Tally();
+        NdjsonLineReader reader = new NdjsonLineReader(request.getInputStream(), maxLineBytes);
+        try (JsonGenerator out = objectMapper.createGenerator(response.getOutputStream())) {
+            out.setRootValueSeparator(null);
+            Chunk chunk = new Chunk(chunkSize);
+            long lineNumber = 0;
+            try {
+                while (reader.next()) {
+                    lineNumber++;
+                    if (reader.blank()) {
+                        continue;
+                    }
+                    chunk.add(lineNumber, parse(reader));
+                    if (chunk.size() == chunkSize) {
+                        publish(chunk, tally, perLine ? out : null);
+                        out.flush();
+                    }
+                }
+                publish(chunk, tally, perLine ? out : null);
+            } catch (RuntimeException e) {
+                long firstUnprocessed = chunk.size() > 0 ? chunk.lines[0] : lineNumber;
+                log.error("Alert stream aborted at line {}: {}", firstUnprocessed, e.getMessage());
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("line", firstUnprocessed);
+                error.put("status", "ABORTED");
+                error.put("error", "Internal Server Error");
+                error.put("message", "Upload aborted; this line and the ones after it were not processed");
+                write(out, error);
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("total", tally.total);
+            summary.put("accepted", tally.accepted);
+            summary.put("duplicates", tally.duplicates);
+            summary.put("rejected", tally.rejected);
+            write(out, summary);
+        }
+        log.info("Alert stream processed: total={}, accepted={}, duplicates={}, rejected={}",
+                tally.total, tally.accepted, tally.duplicates, tally.rejected);
+    }
+
+    /**
+     * Returns the parsed, valid alert, or the rejection to report for the line.
+     */
+    private Object parse(NdjsonLineReader reader) {
+        long start = System.nanoTime();
+        try {
+            if (reader.truncated()) {
+                return rejection("Line Too Long", "Line exceeds the maximum of " + maxLineBytes + " bytes");
+            }
+            Alert alert;
+            try {
+                alert = alertReader.readValue(reader.buffer(), 0, reader.length());
+            } catch (IOException e) {
+                return rejection("Malformed JSON Request", "Failed to parse JSON payload. Please check your request body format.");
+            }
+            Set<ConstraintViolation<Alert>> violations = alert == null ? Set.of() : validator.validate(alert);
+            if (alert == null || !violations.isEmpty()) {
+                Map<String, String> errors = new TreeMap<>();
+                violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("status", "REJECTED");
+                result.put("error", "Validation Failed");
+                result.put("errors", errors);
+                return result;
+            }
+            return alert;
+        } finally {
+            metrics.recordStage(AlertMetrics.Stage.VALIDATE, start);
+        }
+    }
+
+    private void publish(Chunk chunk, Tally tally, JsonGenerator out) throws IOException {
+        if (chunk.size() == 0) {
+            return;
+        }
+        List<Alert> valid = new ArrayList<>(chunk.size());
+        for (Object entry : chunk.entries) {
+            if (entry instanceof Alert alert) {
+                valid.add(alert);
+            }
+        }
+        List<Map<String, String>> published = valid.isEmpty() ? List.of() : alertService.publishAlerts(valid, ackPolicy.timeout());
+
+        for (int i = 0, p = 0; i < chunk.size(); i++) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("line", chunk.lines[i]);
+            Object entry = chunk.entries.get(i);
+            if (entry instanceof Alert) {
+                Map<String, String> outcome = published.get(p++);
+                result.putAll(outcome);
+                if (!"ACCEPTED".equals(outcome.get("status"))) {
+                    tally.rejected++;
+                } else if ("true".equals(outcome.get("duplicate"))) {
+                    tally.duplicates++;
+                } else {
+                    tally.accepted++;
+                }
+            } else {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> rejection = (Map<String, Object>) entry;
+                result.putAll(rejection);
+                tally.rejected++;
+            }
+            tally.total++;
+            if (out != null) {
+                write(out, result);
+            }
+        }
+        chunk.clear();
+    }
+
+    private static Map<String, Object> rejection(String error, String message) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", "REJECTED");
+        result.put("error", error);
+        result.put("message", message);
+        return result;
+    }
+
+    private static void write(JsonGenerator out, Map<String, Object> value) throws IOException {
+        out.writeObject(value);
+        out.writeRaw('\n');
+    }
+
+    private static final class Chunk {
+
+        private final long[] lines;
+        private final List<Object> entries;
+
+        private Chunk(int capacity) {
+            this.lines = new long[capacity];
+            this.entries = new ArrayList<>(capacity);
+        }
+
+        private void add(long line, Object entry) {
+            lines[entries.size()] = line;
+            entries.add(entry);
+        }
+
+        private int size() {
+            return entries.size();
+        }
+
+        private void clear() {
+            entries.clear();
+        }
+    }
+
+    private static final class Tally {
+
+        private long total;
+        private long accepted;
+        private long duplicates;
+        private long rejected;
+    }
+}
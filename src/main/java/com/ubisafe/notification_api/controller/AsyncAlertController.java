@@ -0,0 +1,76 @@
+package com.ubisafe.notification_api.controller;
+
+import com.ubisafe.notification_api.config.AsyncIngestConfig;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.service.AlertService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking counterpart of {@link AlertController}, active with {@code alert.ingest.mode=async}.
+ * The servlet thread is released as soon as the request is validated; the 202 is written once
+ * the Redis dedup check and the hand-off to Kafka have completed.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/alerts")
+@ConditionalOnProperty(name = "alert.ingest.mode", havingValue = "async")
+public class AsyncAlertController {
+
+    private final AlertService alertService;
+    private final Executor ingestExecutor;
+    private final KafkaAckPolicy ackPolicy;
+    private final AlertRequestCodec requestCodec;
+
+    public AsyncAlertController(AlertService alertService,
+                                @Qualifier(AsyncIngestConfig.INGEST_EXECUTOR) Executor ingestExecutor,
+                                KafkaAckPolicy ackPolicy,
+                                AlertRequestCodec requestCodec) {
+        this.alertService = alertService;
+        this.ingestExecutor = ingestExecutor;
+        this.ackPolicy = ackPolicy;
+        this.requestCodec = requestCodec;
+    }
+
+    /**
+     * Returns {@code null} when {@link AlertRequestCodec} rejected the body and already wrote the 400.
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Map<String, String>>> createAlert(
+            @RequestHeader(name = KafkaAckPolicy.HEADER, required = false) String ack,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Alert alert = requestCodec.decode(request, response);
+        if (alert == null) {
+            return null;
+        }
+        log.info("Received alert: type={}, severity={}", alert.getAlertType(), alert.getSeverity());
+
+        if (ackPolicy.requiresConfirmation(alert, ack)) {
+            return alertService.publishAlertAsyncConfirmed(alert, ingestExecutor, ackPolicy.timeout())
+                    .thenApply(result -> {
+                        log.info("Alert processed id={}, duplicate={}, acknowledged={}",
+                                result.get("id"), result.get("duplicate"), result.get("acknowledged"));
+                        return KafkaAckPolicy.toResponse(result);
+                    });
+        }
+
+        return alertService.publishAlertAsync(alert, ingestExecutor)
+                .thenApply(result -> {
+                    log.info("Alert processed id={}, duplicate={}", result.get("id"), result.get("duplicate"));
+                    return ResponseEntity
+                            .status(HttpStatus.ACCEPTED)
+                            .body(result);
+                });
+    }
+}
@@ -0,0 +1,58 @@
+package com.ubisafe.notification_api.controller;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides whether a request waits for the Kafka acknowledgement before it is answered. The
+ * {@value #HEADER} header ({@code kafka} or {@code none}) wins; without it the alert's severity is
+ * matched against {@code alert.publish.confirm.severities}. With transactional publishing every
+ * request waits, since an alert only counts as published once its transaction has committed.
+ */
+@Component
+class KafkaAckPolicy {
+
+    static final String HEADER = "X-Alert-Ack";
+
+    @Value("${alert.publish.confirm.severities:}")
+    private Set<Severity> severities;
+
+    @Value("${alert.publish.confirm.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${alert.kafka.transactions.enabled:false}")
+    private boolean transactional;
+
+    boolean requiresConfirmation(Alert alert, String header) {
+        if (transactional) {
+            return true;
+        }
+        if ("kafka".equalsIgnoreCase(header)) {
+            return true;
+        }
+        if ("none".equalsIgnoreCase(header)) {
+            return false;
+        }
+        return severities.contains(alert.getSeverity());
+    }
+
+    Duration timeout() {
+        return Duration.ofMillis(timeoutMs);
+    }
+
+    /**
+     * 200 once Kafka has the record, 202 when the wait ran out or the send failed.
+     */
+    static ResponseEntity<Map<String, String>> toResponse(Map<String, String> result) {
+        HttpStatus status = "true".equals(result.get("acknowledged")) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(result);
+    }
+}
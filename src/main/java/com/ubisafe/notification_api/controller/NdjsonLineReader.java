@@ -0,0 +1,80 @@
+package com.ubisafe.notification_api.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits a byte stream into lines without decoding it, reusing one line buffer of at most
+ * {@code maxLineBytes}. Longer lines are consumed up to their newline and reported as truncated,
+ * so a single oversized record cannot grow memory or desynchronize the rest of the stream.
+ */
+final class NdjsonLineReader {
+
+    private final InputStream in;
+    private final byte[] chunk = new byte[8192];
+    private final byte[] line;
+    private int chunkPos;
+    private int chunkLen;
+    private int lineLen;
+    private boolean truncated;
+    private boolean eof;
+
+    NdjsonLineReader(InputStream in, int maxLineBytes) {
+        this.in = in;
+        this.line = new byte[maxLineBytes];
+    }
+
+    /**
+     * Advances to the next line. Returns {@code false} once the stream is exhausted.
+     */
+    boolean next() throws IOException {
+        lineLen = 0;
+        truncated = false;
+        boolean read = false;
+        while (true) {
+            if (chunkPos == chunkLen) {
+                if (eof || (chunkLen = in.read(chunk)) < 0) {
+                    eof = true;
+                    chunkLen = 0;
+                    chunkPos = 0;
+                    return read;
+                }
+                chunkPos = 0;
+            }
+            read = true;
+            byte b = chunk[chunkPos++];
+            if (b == '\n') {
+                if (lineLen > 0 && line[lineLen - 1] == '\r') {
+                    lineLen--;
+                }
+                return true;
+            }
+            if (lineLen < line.length) {
+                line[lineLen++] = b;
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    byte[] buffer() {
+        return line;
+    }
+
+    int length() {
+        return lineLen;
+    }
+
+    boolean truncated() {
+        return truncated;
+    }
+
+    boolean blank() {
+        for (int i = 0; i < lineLen; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
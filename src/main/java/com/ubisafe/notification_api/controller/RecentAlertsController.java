@@ -0,0 +1,109 @@
+package com.ubisafe.notification_api.controller;
+
+import com.ubisafe.notification_api.domain.Severity;
+import com.ubisafe.notification_api.exception.InvalidQueryException;
+import com.ubisafe.notification_api.service.RecentAlert;
+import com.ubisafe.notification_api.service.RecentAlertStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recently accepted alerts from this node's {@link RecentAlertStore}, newest first. Filters:
+ * {@code clientId}, {@code severity} and {@code since}, either an ISO-8601 duration back from now
+ * ({@code PT5M}) or a local date-time. Pages hold up to {@code limit} alerts; pass the returned
+ * {@code nextCursor} as {@code cursor} for the next one.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/alerts")
+@RequiredArgsConstructor
+public class RecentAlertsController {
+
+    private final RecentAlertStore store;
+
+    @Value("${alert.recent.max-page-size:1000}")
+    private int maxPageSize;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> recentAlerts(@RequestParam(required = false) String clientId,
+                                                            @RequestParam(required = false) String severity,
+                                                            @RequestParam(required = false) String since,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidQueryException("limit must be between 1 and " + maxPageSize);
+        }
+        RecentAlertStore.Page page = store.query(clientId, severity(severity), sinceMillis(since), cursor(cursor), limit);
+
+        List<Map<String, Object>> alerts = new ArrayList<>(page.alerts().size());
+        for (RecentAlert alert : page.alerts()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", alert.id());
+            entry.put("clientId", alert.clientId());
+            entry.put("alertType", alert.alertType());
+            entry.put("message", alert.message());
+            entry.put("severity", alert.severity());
+            entry.put("source", alert.source());
+            entry.put("timestamp", alert.timestamp() == null ? null : alert.timestamp().toString());
+            entry.put("receivedAt", LocalDateTime.ofInstant(Instant.ofEpochMilli(alert.receivedAt()), ZoneId.systemDefault()).toString());
+            alerts.add(entry);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("alerts", alerts);
+        body.put("nextCursor", page.nextCursor() == RecentAlertStore.NONE ? null : String.valueOf(page.nextCursor()));
+        return ResponseEntity.ok(body);
+    }
+
+    private static Severity severity(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Severity.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Unknown severity: " + value);
+        }
+    }
+
+    private static long sinceMillis(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            if (value.startsWith("P") || value.startsWith("-P")) {
+                return System.currentTimeMillis() - Duration.parse(value).abs().toMillis();
+            }
+            return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new InvalidQueryException("since must be an ISO-8601 duration (PT5M) or date-time: " + value);
+        }
+    }
+
+    private static long cursor(String value) {
+        if (value == null) {
+            return RecentAlertStore.NONE;
+        }
+        try {
+            long cursor = Long.parseLong(value);
+            if (cursor < 0) {
+                throw new NumberFormatException();
+            }
+            return cursor;
+        } catch (NumberFormatException e) {
+            throw new InvalidQueryException("Invalid cursor: " + value);
+        }
+    }
+}
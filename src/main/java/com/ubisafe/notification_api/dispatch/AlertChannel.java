@@ -0,0 +1,20 @@
+package com.ubisafe.notification_api.dispatch;
+
+import com.ubisafe.notification_api.domain.Alert;
+
+/**
+ * A delivery channel the {@link AlertDispatcher} fans consumed alerts out to (webhook, email,
+ * SMS). {@link #deliver} may block on I/O; the dispatcher runs it on its delivery executor and
+ * retries it when it throws.
+ */
+public interface AlertChannel {
+
+    String name();
+
+    /**
+     * Whether this channel delivers {@code alert}, e.g. SMS only for critical alerts.
+     */
+    boolean accepts(Alert alert);
+
+    void deliver(Alert alert) throws Exception;
+}
@@ -0,0 +1,155 @@
+package com.ubisafe.notification_api.dispatch;
+
+import com.ubisafe.notification_api.config.DispatchConfig;
+import com.ubisafe.notification_api.domain.Alert;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes published alerts in batches and delivers each one to every {@link AlertChannel} that
+ * accepts it. All deliveries of a batch run concurrently on the delivery executor, so a slow
+ * provider costs one wait per batch rather than one per alert; the listener returns, and the
+ * batch's offsets are committed, only once every delivery has finished.
+ * <p>
+ * A failed delivery is retried up to {@code max-attempts} times, then counted in
+ * {@code alert.dispatch.failed} and handed to the {@link DeadLetterPublisher}, so it does not hold
+ * back the rest of the partition and is not lost. When the dead-letter record cannot be written
+ * either, or the delivery was interrupted, the listener throws and the batch is not committed; the
+ * container's error handler runs it again, and channels that already delivered it deliver it again.
+ * Records whose payload cannot be decoded are skipped and counted in {@code alert.dispatch.undecodable}.
+ */
+@Slf4j
+public class AlertDispatcher {
+
+    private final List<AlertChannel> channels;
+    private final Executor executor;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final DeadLetterPublisher deadLetters;
+    private final Map<String, Timer> deliveryLatency = new HashMap<>();
+    private final Map<String, Counter> failures = new HashMap<>();
+    private final Counter undecodable;
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+
+    public AlertDispatcher(List<AlertChannel> channels, Executor executor, int maxAttempts, long retryBackoffMs,
+                           DeadLetterPublisher deadLetters, MeterRegistry meterRegistry) {
+        this.channels = List.copyOf(channels);
+        this.executor = executor;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.deadLetters = deadLetters;
+        for (AlertChannel channel : this.channels) {
+            deliveryLatency.put(channel.name(), Timer.builder("alert.dispatch.delivery")
+                    .tag("channel", channel.name())
+                    .description("Time to deliver one alert on the channel, retries included")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            failures.put(channel.name(), Counter.builder("alert.dispatch.failed")
+                    .tag("channel", channel.name())
+                    .description("Alerts not delivered on the channel after every attempt, sent to the dead-letter topic")
+                    .register(meterRegistry));
+        }
+        this.undecodable = Counter.builder("alert.dispatch.undecodable")
+                .description("Consumed records skipped because their payload could not be decoded")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("alert.dispatch.batch.size")
+                .description("Records per consumed batch")
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("alert.dispatch.batch")
+                .description("Time from receiving a batch until every delivery in it has finished")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        log.info("Alert dispatcher channels={}, maxAttempts={}, retryBackoffMs={}",
+                this.channels.stream().map(AlertChannel::name).toList(), this.maxAttempts, this.retryBackoffMs);
+    }
+
+    @KafkaListener(id = "alert-dispatcher", idIsGroup = false,
+            topics = "#{'${alert.dispatch.topics:alerts}'.split(',')}",
+            containerFactory = DispatchConfig.CONTAINER_FACTORY,
+            concurrency = "${alert.dispatch.concurrency:3}",
+            autoStartup = "${alert.dispatch.enabled:false}",
+            batch = "true")
+    public void dispatch(List<ConsumerRecord<String, Alert>> records) {
+        long start = System.nanoTime();
+        batchSize.record(records.size());
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(records.size() * channels.size());
+        for (ConsumerRecord<String, Alert> record : records) {
+            Alert alert = record.value();
+            if (alert == null) {
+                undecodable.increment();
+                log.warn("Skipping undecodable alert at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            for (AlertChannel channel : channels) {
+                if (channel.accepts(alert)) {
+                    deliveries.add(CompletableFuture.runAsync(() -> deliver(channel, record), executor));
+                }
+            }
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void deliver(AlertChannel channel, ConsumerRecord<String, Alert> record) {
+        Alert alert = record.value();
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                channel.deliver(alert);
+                deliveryLatency.get(channel.name()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Delivery of alert " + alert.getId() + " interrupted", e);
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    deadLetter(channel, record, attempt, e);
+                    return;
+                }
+                log.debug("[{}] Delivery of alert {} failed (attempt {}/{}): {}", channel.name(), alert.getId(), attempt,
+                        maxAttempts, e.getMessage());
+                backOff(alert);
+            }
+        }
+    }
+
+    private void backOff(Alert alert) {
+        if (retryBackoffMs == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(retryBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Delivery of alert " + alert.getId() + " interrupted", e);
+        }
+    }
+
+    private void deadLetter(AlertChannel channel, ConsumerRecord<String, Alert> record, int attempts, Exception cause) {
+        Alert alert = record.value();
+        failures.get(channel.name()).increment();
+        log.error("[{}] Giving up on alert {} for client {} after {} attempt(s), sending it to {}: {}", channel.name(),
+                alert.getId(), alert.getClientId(), attempts, deadLetters.topicFor(record.topic()), cause.getMessage());
+        try {
+            deadLetters.publish(record, channel.name(), cause);
+        } catch (Exception e) {
+            // fails the batch: its offsets stay uncommitted and the container retries it
+            throw new IllegalStateException("Could not dead-letter alert " + alert.getId() + " for channel "
+                    + channel.name() + ": " + e.getMessage(), e);
+        }
+    }
+}
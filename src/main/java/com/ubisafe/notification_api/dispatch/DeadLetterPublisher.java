@@ -0,0 +1,56 @@
+package com.ubisafe.notification_api.dispatch;
+
+import com.ubisafe.notification_api.codec.AlertPayloadCodec;
+import com.ubisafe.notification_api.domain.Alert;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parks alerts a channel could not deliver on {@code <topic><suffix>}, keyed as the original and
+ * re-encoded with the active payload codec. The channel is in the {@link #CHANNEL_HEADER} header, so
+ * a redelivery only has to retry that channel; the original topic, partition, offset and error use
+ * Spring Kafka's dead-letter headers.
+ */
+public class DeadLetterPublisher {
+
+    public static final String CHANNEL_HEADER = "alert-dispatch-channel";
+
+    private final KafkaTemplate<String, byte[]> template;
+    private final AlertPayloadCodec payloadCodec;
+    private final String suffix;
+    private final long timeoutMs;
+
+    public DeadLetterPublisher(KafkaTemplate<String, byte[]> template, AlertPayloadCodec payloadCodec, String suffix,
+                               long timeoutMs) {
+        this.template = template;
+        this.payloadCodec = payloadCodec;
+        this.suffix = suffix;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public String topicFor(String topic) {
+        return topic + suffix;
+    }
+
+    /**
+     * Publishes the alert and waits for the broker's acknowledgement, so the caller can commit the
+     * original offset afterwards. Throws when the dead-letter record was not acknowledged.
+     */
+    public void publish(ConsumerRecord<String, Alert> record, String channel, Exception cause) throws Exception {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(CHANNEL_HEADER, channel.getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+        template.send(new ProducerRecord<>(topicFor(record.topic()), null, record.key(), payloadCodec.encode(record.value()),
+                headers)).get(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
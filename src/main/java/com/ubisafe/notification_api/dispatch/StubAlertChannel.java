@@ -0,0 +1,46 @@
+package com.ubisafe.notification_api.dispatch;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Local stand-in for a real provider: waits {@code latency} as the provider call would and logs
+ * the delivery. Delivers every severity when {@code severities} is empty.
+ */
+@Slf4j
+public class StubAlertChannel implements AlertChannel {
+
+    private final String name;
+    private final Set<Severity> severities;
+    private final Duration latency;
+
+    public StubAlertChannel(String name, Set<Severity> severities, Duration latency) {
+        this.name = name;
+        this.severities = severities.isEmpty() ? EnumSet.noneOf(Severity.class) : EnumSet.copyOf(severities);
+        this.latency = latency;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean accepts(Alert alert) {
+        return severities.isEmpty() || severities.contains(alert.getSeverity());
+    }
+
+    @Override
+    public void deliver(Alert alert) throws InterruptedException {
+        if (!latency.isZero()) {
+            Thread.sleep(latency.toMillis());
+        }
+        log.debug("[{}] Delivered alert {} to client {} (severity={})", name, alert.getId(), alert.getClientId(),
+                alert.getSeverity());
+    }
+}
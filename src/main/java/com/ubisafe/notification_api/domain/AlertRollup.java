@@ -0,0 +1,37 @@
+package com.ubisafe.notification_api.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of the duplicates of one alert suppressed during its deduplication window. {@code count}
+ * excludes the original alert, which was published on its own.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertRollup {
+
+    private String id;
+
+    private String clientId;
+
+    private String alertType;
+
+    private String message;
+
+    private Severity severity;
+
+    private String source;
+
+    private long count;
+
+    private LocalDateTime firstSeen;
+
+    private LocalDateTime lastSeen;
+}
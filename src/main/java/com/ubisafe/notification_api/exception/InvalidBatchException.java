@@ -0,0 +1,8 @@
+package com.ubisafe.notification_api.exception;
+
+public class InvalidBatchException extends RuntimeException {
+
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ubisafe.notification_api.exception;
+
+public class InvalidQueryException extends RuntimeException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ubisafe.notification_api.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PublishBackpressureException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PublishBackpressureException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ubisafe.notification_api.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long limit;
+    private final long remaining;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long limit, long remaining, long retryAfterSeconds) {
+        super(message);
+        this.limit = limit;
+        this.remaining = remaining;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
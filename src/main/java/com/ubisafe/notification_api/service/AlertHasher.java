@@ -0,0 +1,97 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.domain.Alert;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Derives the deterministic content id of an alert from clientId, alertType, message and severity.
+ * <p>
+ * {@code murmur3} streams the fields straight into a 128-bit MurmurHash3 without building the
+ * joined string. {@code legacy} keeps the original MD5 name-based UUID of
+ * {@code "clientId:alertType:message:severity"} so dedup keys written by older nodes stay valid
+ * during a rollout. Both render as a UUID-formatted string.
+ */
+@Slf4j
+@Component
+public class AlertHasher {
+
+    public static final String MURMUR3 = "murmur3";
+    public static final String LEGACY = "legacy";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<Murmur3Hash128> HASHERS = ThreadLocal.withInitial(Murmur3Hash128::new);
+
+    private final boolean legacy;
+
+    public AlertHasher(@Value("${alert.hash.algorithm:" + MURMUR3 + "}") String algorithm) {
+        if (LEGACY.equalsIgnoreCase(algorithm)) {
+            this.legacy = true;
+        } else if (MURMUR3.equalsIgnoreCase(algorithm)) {
+            this.legacy = false;
+        } else {
+            throw new IllegalArgumentException("Unknown alert.hash.algorithm: " + algorithm);
+        }
+        log.info("Alert hash algorithm={}", legacy ? LEGACY : MURMUR3);
+    }
+
+    public String hash(Alert alert) {
+        return legacy ? legacyHash(alert) : murmur3Hash(alert);
+    }
+
+    static String legacyHash(Alert alert) {
+        String content = String.format("%s:%s:%s:%s",
+                alert.getClientId(),
+                alert.getAlertType(),
+                alert.getMessage(),
+                alert.getSeverity());
+
+        return UUID.nameUUIDFromBytes(content.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    static String murmur3Hash(Alert alert) {
+        Murmur3Hash128 hasher = HASHERS.get().reset();
+        putField(hasher, alert.getClientId());
+        putField(hasher, alert.getAlertType());
+        putField(hasher, alert.getMessage());
+        putField(hasher, alert.getSeverity() == null ? null : alert.getSeverity().name());
+        hasher.finish();
+        return toUuidString(hasher.high(), hasher.low());
+    }
+
+    /**
+     * Length-prefixes each field so that no separator can make two different alerts collide.
+     */
+    private static void putField(Murmur3Hash128 hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length()).putUtf8(value);
+        }
+    }
+
+    private static String toUuidString(long msb, long lsb) {
+        char[] out = new char[36];
+        writeHex(out, 0, msb >>> 32, 8);
+        out[8] = '-';
+        writeHex(out, 9, msb >>> 16, 4);
+        out[13] = '-';
+        writeHex(out, 14, msb, 4);
+        out[18] = '-';
+        writeHex(out, 19, lsb >>> 48, 4);
+        out[23] = '-';
+        writeHex(out, 24, lsb, 12);
+        return new String(out);
+    }
+
+    private static void writeHex(char[] out, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            out[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+}
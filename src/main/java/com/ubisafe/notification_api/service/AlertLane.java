@@ -0,0 +1,11 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * A publish lane: target topic, the producer that owns its buffer, and the timer recording how
+ * long records wait between {@code send} and the broker acknowledgement.
+ */
+public record AlertLane(String name, String topic, KafkaTemplate<String, byte[]> template, Timer ackLatency) {
+}
@@ -0,0 +1,137 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Resolves the {@link AlertLane} an alert is published on from its {@link Severity}, and the record
+ * key it is published with. With a {@link TransactionalAlertPublisher} every lane's records go
+ * through its transactions instead of the lane's own producer; the lane still picks the topic.
+ * The router owns that publisher and shuts it down with its own producers.
+ */
+@Slf4j
+public class AlertLaneRouter implements DisposableBean {
+
+    public static final String DEFAULT_LANE = "default";
+
+    private final AlertLane defaultLane;
+    private final Map<Severity, AlertLane> bySeverity;
+    private final List<DefaultKafkaProducerFactory<String, byte[]>> ownedFactories;
+    private final Function<Alert, String> recordKey;
+    private final TransactionalAlertPublisher transactions;
+
+    public AlertLaneRouter(AlertLane defaultLane, Map<Severity, AlertLane> bySeverity,
+                           List<DefaultKafkaProducerFactory<String, byte[]>> ownedFactories) {
+        this(defaultLane, bySeverity, ownedFactories, Alert::getId);
+    }
+
+    public AlertLaneRouter(AlertLane defaultLane, Map<Severity, AlertLane> bySeverity,
+                           List<DefaultKafkaProducerFactory<String, byte[]>> ownedFactories,
+                           Function<Alert, String> recordKey) {
+        this(defaultLane, bySeverity, ownedFactories, recordKey, null);
+    }
+
+    public AlertLaneRouter(AlertLane defaultLane, Map<Severity, AlertLane> bySeverity,
+                           List<DefaultKafkaProducerFactory<String, byte[]>> ownedFactories,
+                           Function<Alert, String> recordKey, TransactionalAlertPublisher transactions) {
+        this.recordKey = recordKey;
+        this.transactions = transactions;
+        this.defaultLane = defaultLane;
+        this.bySeverity = new EnumMap<>(Severity.class);
+        this.bySeverity.putAll(bySeverity);
+        this.ownedFactories = new ArrayList<>(ownedFactories);
+        for (Severity severity : Severity.values()) {
+            log.info("Alert lane for severity {}: lane={}, topic={}", severity, laneFor(severity).name(), laneFor(severity).topic());
+        }
+    }
+
+    /**
+     * Every severity on one lane: the given template and topic.
+     */
+    public static AlertLaneRouter single(KafkaTemplate<String, byte[]> template, String topic, MeterRegistry meterRegistry) {
+        return single(template, topic, meterRegistry, Alert::getId);
+    }
+
+    public static AlertLaneRouter single(KafkaTemplate<String, byte[]> template, String topic, MeterRegistry meterRegistry,
+                                         Function<Alert, String> recordKey) {
+        return single(template, topic, meterRegistry, recordKey, null);
+    }
+
+    public static AlertLaneRouter single(KafkaTemplate<String, byte[]> template, String topic, MeterRegistry meterRegistry,
+                                         Function<Alert, String> recordKey, TransactionalAlertPublisher transactions) {
+        return new AlertLaneRouter(new AlertLane(DEFAULT_LANE, topic, template, ackTimer(DEFAULT_LANE, meterRegistry)),
+                Map.of(), List.of(), recordKey, transactions);
+    }
+
+    public static Timer ackTimer(String lane, MeterRegistry meterRegistry) {
+        return Timer.builder("alert.lane.ack.latency")
+                .tag("lane", lane)
+                .description("Time from handing an alert to the lane's producer until the broker acknowledges it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public AlertLane laneFor(Severity severity) {
+        if (severity == null) {
+            return defaultLane;
+        }
+        return bySeverity.getOrDefault(severity, defaultLane);
+    }
+
+    /**
+     * Kafka record key for {@code alert}; it decides the partition the alert lands on.
+     */
+    public String recordKey(Alert alert) {
+        return recordKey.apply(alert);
+    }
+
+    /**
+     * Publishes on {@code lane}: straight to its producer, or into the next transaction when
+     * transactional publishing is on, in which case the future completes once that commits.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> send(AlertLane lane, String key, byte[] payload) {
+        if (transactions != null) {
+            return transactions.send(lane.topic(), key, payload);
+        }
+        return lane.template().send(lane.topic(), key, payload);
+    }
+
+    public boolean transactional() {
+        return transactions != null;
+    }
+
+    public Collection<AlertLane> lanes() {
+        LinkedHashSet<AlertLane> lanes = new LinkedHashSet<>();
+        lanes.add(defaultLane);
+        lanes.addAll(bySeverity.values());
+        return lanes;
+    }
+
+    @Override
+    public void destroy() {
+        if (transactions != null) {
+            try {
+                transactions.destroy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ownedFactories.forEach(DefaultKafkaProducerFactory::destroy);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.domain.Severity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the stages of the publish pipeline. Every timer publishes a percentile histogram so
+ * latency can be broken down per stage in Prometheus; the time spent waiting for the broker is
+ * {@code alert.lane.ack.latency}, recorded per lane by {@link AlertLaneRouter}. All meters are
+ * registered up front so the hot path only does an enum-map lookup.
+ */
+@Component
+public class AlertMetrics {
+
+    public enum Stage {
+        VALIDATE("validate"),
+        HASH("hash"),
+        RATE_LIMIT("rate_limit"),
+        DEDUP("dedup"),
+        SERIALIZE("serialize"),
+        SEND("send");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum DedupStage {
+        LOCAL_CACHE("local_cache"),
+        REDIS("redis");
+
+        private final String tag;
+
+        DedupStage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum DedupPath {
+        SYNC("sync"),
+        ASYNC("async"),
+        PIPELINED("pipelined");
+
+        private final String tag;
+
+        DedupPath(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String UNKNOWN_SEVERITY = "UNKNOWN";
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<DedupStage, Timer> dedupTimers = new EnumMap<>(DedupStage.class);
+    private final Map<DedupPath, Counter> redisFallbacks = new EnumMap<>(DedupPath.class);
+    private final SeverityCounters duplicates;
+    private final SeverityCounters immediateSendFailures;
+    private final SeverityCounters asyncSendFailures;
+
+    public AlertMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("alert.publish.stage")
+                    .tag("stage", stage.tag)
+                    .description("Time spent in each stage of publishing an alert")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (DedupStage stage : DedupStage.values()) {
+            dedupTimers.put(stage, Timer.builder("alert.dedup.stage")
+                    .tag("stage", stage.tag)
+                    .description("Time spent in each stage of a deduplication check")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (DedupPath path : DedupPath.values()) {
+            redisFallbacks.put(path, Counter.builder("alert.dedup.redis.fallbacks")
+                    .tag("path", path.tag)
+                    .description("Dedup checks that failed on Redis and treated the alert as new")
+                    .register(meterRegistry));
+        }
+        duplicates = new SeverityCounters(meterRegistry, "alert.publish.duplicates",
+                "Alerts skipped as duplicates within the window", null);
+        immediateSendFailures = new SeverityCounters(meterRegistry, "alert.publish.send.failures",
+                "Alerts the Kafka producer failed to accept or the broker did not acknowledge", "immediate");
+        asyncSendFailures = new SeverityCounters(meterRegistry, "alert.publish.send.failures",
+                "Alerts the Kafka producer failed to accept or the broker did not acknowledge", "async");
+    }
+
+    /**
+     * Records the time since {@code startNanos} against {@code stage} and returns the current
+     * time, so consecutive stages can be chained off one clock read each.
+     */
+    public long recordStage(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public long recordDedupStage(DedupStage stage, long startNanos) {
+        long now = System.nanoTime();
+        dedupTimers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void redisFallback(DedupPath path) {
+        redisFallbacks.get(path).increment();
+    }
+
+    public void duplicate(Severity severity) {
+        duplicates.increment(severity);
+    }
+
+    public void immediateSendFailure(Severity severity) {
+        immediateSendFailures.increment(severity);
+    }
+
+    public void asyncSendFailure(Severity severity) {
+        asyncSendFailures.increment(severity);
+    }
+
+    private static final class SeverityCounters {
+
+        private final Map<Severity, Counter> bySeverity = new EnumMap<>(Severity.class);
+        private final Counter unknown;
+
+        private SeverityCounters(MeterRegistry registry, String name, String description, String phase) {
+            for (Severity severity : Severity.values()) {
+                bySeverity.put(severity, build(registry, name, description, phase, severity.name()));
+            }
+            unknown = build(registry, name, description, phase, UNKNOWN_SEVERITY);
+        }
+
+        private static Counter build(MeterRegistry registry, String name, String description, String phase, String severity) {
+            Counter.Builder builder = Counter.builder(name)
+                    .tag("severity", severity)
+                    .description(description);
+            if (phase != null) {
+                builder.tag("phase", phase);
+            }
+            return builder.register(registry);
+        }
+
+        private void increment(Severity severity) {
+            (severity == null ? unknown : bySeverity.get(severity)).increment();
+        }
+    }
+}
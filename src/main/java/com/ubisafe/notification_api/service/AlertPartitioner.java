@@ -0,0 +1,142 @@
+package com.ubisafe.notification_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.utils.Utils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kafka partitioner for alert records. A key goes to the same partition Kafka's default
+ * partitioner would pick, {@code murmur2(key) % partitions}, so switching to it moves no existing
+ * key.
+ * <p>
+ * With {@value #HOT_KEY_ENABLED} set, keys seen more than {@value #HOT_KEY_THRESHOLD} times in a
+ * window of {@value #HOT_KEY_WINDOW_MS} are treated as hot. A hot key is spread round-robin over
+ * {@value #HOT_KEY_SPREAD} consecutive partitions starting at its own, so one heavy client cannot
+ * saturate a single partition. Its records are no longer ordered among themselves. A key stays hot
+ * for the window after the one where it crossed the threshold. At most
+ * {@value #HOT_KEY_MAX_TRACKED_KEYS} keys are counted per window; keys beyond that are treated as
+ * cold.
+ * <p>
+ * Every placement is reported to the {@link PartitionSkewMonitor} passed in under
+ * {@value #SKEW_MONITOR}, when present.
+ */
+@Slf4j
+public class AlertPartitioner implements Partitioner {
+
+    public static final String HOT_KEY_ENABLED = "alert.partitioner.hot-key.enabled";
+    public static final String HOT_KEY_THRESHOLD = "alert.partitioner.hot-key.threshold";
+    public static final String HOT_KEY_WINDOW_MS = "alert.partitioner.hot-key.window-ms";
+    public static final String HOT_KEY_SPREAD = "alert.partitioner.hot-key.spread";
+    public static final String HOT_KEY_MAX_TRACKED_KEYS = "alert.partitioner.hot-key.max-tracked-keys";
+    public static final String SKEW_MONITOR = "alert.partitioner.skew-monitor";
+
+    private final AtomicInteger unkeyed = new AtomicInteger();
+    private boolean hotKeyEnabled;
+    private long threshold;
+    private long windowMs;
+    private int spread;
+    private int maxTrackedKeys;
+    private PartitionSkewMonitor skewMonitor;
+
+    private volatile Window window;
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        hotKeyEnabled = Boolean.parseBoolean(setting(configs, HOT_KEY_ENABLED, "false"));
+        threshold = Long.parseLong(setting(configs, HOT_KEY_THRESHOLD, "1000"));
+        windowMs = Long.parseLong(setting(configs, HOT_KEY_WINDOW_MS, "1000"));
+        spread = Integer.parseInt(setting(configs, HOT_KEY_SPREAD, "4"));
+        maxTrackedKeys = Integer.parseInt(setting(configs, HOT_KEY_MAX_TRACKED_KEYS, "10000"));
+        if (configs.get(SKEW_MONITOR) instanceof PartitionSkewMonitor monitor) {
+            skewMonitor = monitor;
+        }
+        window = new Window(System.currentTimeMillis(), Set.of());
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        int partitionCount = cluster.partitionsForTopic(topic).size();
+        int partition;
+        if (keyBytes == null) {
+            partition = Utils.toPositive(unkeyed.getAndIncrement()) % partitionCount;
+        } else {
+            partition = Utils.toPositive(Utils.murmur2(keyBytes)) % partitionCount;
+            int width = Math.min(spread, partitionCount);
+            if (hotKeyEnabled && width > 1) {
+                long seen = countInWindow(key);
+                if (seen > threshold || window.hot.contains(key)) {
+                    partition = (partition + (int) (seen % width)) % partitionCount;
+                }
+            }
+        }
+        if (skewMonitor != null) {
+            skewMonitor.record(topic, partition, partitionCount);
+        }
+        return partition;
+    }
+
+    /**
+     * Counts one more record for {@code key} in the current window and returns its count so far;
+     * the count doubles as the round-robin position of a hot key.
+     */
+    private long countInWindow(Object key) {
+        Window current = window;
+        long now = System.currentTimeMillis();
+        if (now - current.start >= windowMs) {
+            current = roll(current, now);
+        }
+        AtomicLong counter = current.counts.get(key);
+        if (counter == null) {
+            if (current.counts.size() >= maxTrackedKeys) {
+                return 0;
+            }
+            counter = current.counts.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        return counter.incrementAndGet();
+    }
+
+    private synchronized Window roll(Window expected, long now) {
+        if (window != expected) {
+            return window;
+        }
+        Set<Object> hot = ConcurrentHashMap.newKeySet();
+        expected.counts.forEach((key, count) -> {
+            if (count.get() > threshold) {
+                hot.add(key);
+            }
+        });
+        if (!hot.isEmpty() || !expected.hot.isEmpty()) {
+            log.info("Hot partition keys in last window: {} (threshold={} records per {}ms)", hot.size(), threshold, windowMs);
+        }
+        window = new Window(now, hot);
+        return window;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static String setting(Map<String, ?> configs, String name, String defaultValue) {
+        Object value = configs.get(name);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    private static final class Window {
+
+        private final long start;
+        private final Set<Object> hot;
+        private final Map<Object, AtomicLong> counts = new ConcurrentHashMap<>();
+
+        private Window(long start, Set<Object> hot) {
+            this.start = start;
+            this.hot = hot;
+        }
+    }
+}
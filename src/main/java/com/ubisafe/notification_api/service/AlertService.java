@@ -1,93 +1,411 @@
 package com.ubisafe.notification_api.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.codec.AlertPayloadCodec;
 import com.ubisafe.notification_api.domain.Alert;
 import com.ubisafe.notification_api.exception.AlertPublishException;
+import com.ubisafe.notification_api.exception.PublishBackpressureException;
+import com.ubisafe.notification_api.exception.RateLimitExceededException;
+import com.ubisafe.notification_api.spill.SpillLog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AlertService {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final AlertLaneRouter laneRouter;
+    private final AlertPayloadCodec payloadCodec;
     private final DeduplicationService deduplicationService;
-    private static final String TOPIC = "alerts";
+    private final AlertHasher alertHasher;
+    private final InFlightTracker inFlightTracker;
+    private final SpillLog spillLog;
+    private final ClientRateLimiter rateLimiter;
+    private final AlertMetrics metrics;
+    private final DuplicateAggregator duplicateAggregator;
+    private final RecentAlertStore recentAlerts;
 
     public Map<String, String> publishAlert(Alert alert) {
-        try {
-            String contentHash = generateAlertHash(alert);
-            alert.setId(contentHash);
+        return publish(alert, null);
+    }
+
+    /**
+     * Variant of {@link #publishAlert} for callers that need a delivery confirmation. The returned
+     * future completes once Kafka acknowledges the record, with its partition and offset, or after
+     * {@code timeout} with {@code acknowledged=false} while the record stays queued. Duplicates and
+     * immediate send failures complete it straight away. Nothing blocks on it: it is completed by
+     * the producer's callback or by the deadline timer.
+     */
+    public CompletableFuture<Map<String, String>> publishAlertConfirmed(Alert alert, Duration timeout) {
+        CompletableFuture<Map<String, String>> confirmation = new CompletableFuture<>();
+        publish(alert, confirmation);
+        return withDeadline(confirmation, alert.getId(), timeout);
+    }
 
+    private Map<String, String> publish(Alert alert, CompletableFuture<Map<String, String>> confirmation) {
+        long start = System.nanoTime();
+        String contentHash = alertHasher.hash(alert);
+        alert.setId(contentHash);
+        start = metrics.recordStage(AlertMetrics.Stage.HASH, start);
+        checkRateLimit(alert);
+        start = metrics.recordStage(AlertMetrics.Stage.RATE_LIMIT, start);
+        acquirePermit(contentHash);
+
+        boolean handedOff = false;
+        try {
             boolean duplicate = deduplicationService.isDuplicate(contentHash);
+            metrics.recordStage(AlertMetrics.Stage.DEDUP, start);
             if (duplicate) {
+                metrics.duplicate(alert.getSeverity());
+                duplicateAggregator.record(alert);
                 log.info("Duplicate alert skipped. id={}", contentHash);
-                return Map.of(
-                        "id", contentHash,
-                        "status", "ACCEPTED",
-                        "message", "Duplicate alert detected within window; not republished"
-                );
+                return confirm(confirmation, duplicateResult(contentHash));
+            }
+            handedOff = true;
+            return send(alert, confirmation);
+        } finally {
+            if (!handedOff) {
+                inFlightTracker.release();
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #publishAlert}: the dedup check runs on Redis' async API and
+     * serialization plus the hand-off to the producer run on {@code executor}, so no request thread
+     * waits for Redis.
+     */
+    public CompletableFuture<Map<String, String>> publishAlertAsync(Alert alert, Executor executor) {
+        return publishAsync(alert, executor, null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #publishAlertConfirmed}.
+     */
+    public CompletableFuture<Map<String, String>> publishAlertAsyncConfirmed(Alert alert, Executor executor,
+                                                                             Duration timeout) {
+        CompletableFuture<Map<String, String>> confirmation = new CompletableFuture<>();
+        return publishAsync(alert, executor, confirmation)
+                .thenCompose(result -> withDeadline(confirmation, alert.getId(), timeout));
+    }
+
+    private CompletableFuture<Map<String, String>> publishAsync(Alert alert, Executor executor,
+                                                                CompletableFuture<Map<String, String>> confirmation) {
+        long start = System.nanoTime();
+        String contentHash = alertHasher.hash(alert);
+        alert.setId(contentHash);
+        start = metrics.recordStage(AlertMetrics.Stage.HASH, start);
+        checkRateLimit(alert);
+        long dedupStart = metrics.recordStage(AlertMetrics.Stage.RATE_LIMIT, start);
+        acquirePermit(contentHash);
+
+        AtomicBoolean handedOff = new AtomicBoolean();
+        return deduplicationService.isDuplicateAsync(contentHash)
+                .whenComplete((duplicate, ex) -> metrics.recordStage(AlertMetrics.Stage.DEDUP, dedupStart))
+                .thenApplyAsync(duplicate -> {
+                    handedOff.set(true);
+                    if (duplicate) {
+                        inFlightTracker.release();
+                        metrics.duplicate(alert.getSeverity());
+                        duplicateAggregator.record(alert);
+                        log.info("Duplicate alert skipped. id={}", contentHash);
+                        return confirm(confirmation, duplicateResult(contentHash));
+                    }
+                    return send(alert, confirmation);
+                }, executor)
+                .whenComplete((result, ex) -> {
+                    if (ex != null && !handedOff.get()) {
+                        inFlightTracker.release();
+                    }
+                });
+    }
+
+    /**
+     * Publishes a batch of already validated alerts. Deduplication for the whole batch runs in a
+     * single pipelined Redis exchange and the non-duplicates are handed to the producer back to back,
+     * so they share its batches. Alerts over their client's rate limit or that find no in-flight
+     * capacity are reported as rejected without being deduplicated, so a retry is not mistaken for a
+     * duplicate. Results are returned in the same order as the input. With transactional publishing
+     * the call returns once the transactions holding the batch's alerts have committed, or after
+     * {@code commitTimeout} with {@code acknowledged=false} for the alerts still uncommitted.
+     */
+    public List<Map<String, String>> publishAlerts(List<Alert> alerts, Duration commitTimeout) {
+        List<Map<String, String>> results = new ArrayList<>(alerts.size());
+        List<Alert> admitted = new ArrayList<>(alerts.size());
+        List<String> hashes = new ArrayList<>(alerts.size());
+        for (Alert alert : alerts) {
+            long start = System.nanoTime();
+            String contentHash = alertHasher.hash(alert);
+            alert.setId(contentHash);
+            start = metrics.recordStage(AlertMetrics.Stage.HASH, start);
+            RateLimitDecision decision = rateLimiter.tryAcquire(alert.getClientId(), alert.getSeverity());
+            metrics.recordStage(AlertMetrics.Stage.RATE_LIMIT, start);
+            if (!decision.allowed()) {
+                results.add(rateLimitedResult(contentHash, decision));
+            } else if (inFlightTracker.tryAcquire()) {
+                admitted.add(alert);
+                hashes.add(contentHash);
+                results.add(null);
+            } else {
+                results.add(rejectedResult(contentHash));
+            }
+        }
+
+        List<CompletableFuture<Map<String, String>>> commits = laneRouter.transactional()
+                ? new ArrayList<>(Collections.nCopies(results.size(), null)) : List.of();
+
+        // admitted alerts whose permit has been released or passed on to send()
+        int settled = 0;
+        try {
+            long dedupStart = System.nanoTime();
+            List<Boolean> duplicates = deduplicationService.areDuplicates(hashes);
+            metrics.recordStage(AlertMetrics.Stage.DEDUP, dedupStart);
+
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i) != null) {
+                    continue;
+                }
+                Alert alert = admitted.get(settled);
+                boolean duplicate = duplicates.get(settled);
+                settled++;
+                if (duplicate) {
+                    inFlightTracker.release();
+                    metrics.duplicate(alert.getSeverity());
+                    duplicateAggregator.record(alert);
+                    log.info("Duplicate alert skipped in batch. id={}", alert.getId());
+                    results.set(i, duplicateResult(alert.getId()));
+                } else if (laneRouter.transactional()) {
+                    CompletableFuture<Map<String, String>> committed = new CompletableFuture<>();
+                    results.set(i, send(alert, committed));
+                    commits.set(i, committed);
+                } else {
+                    results.set(i, send(alert, null));
+                }
+            }
+        } finally {
+            // a failure part-way through must not strand the permits of alerts never handed to send()
+            for (int a = settled; a < admitted.size(); a++) {
+                inFlightTracker.release();
+            }
+        }
+        // in transactional mode an alert is only reported once the transaction holding it committed;
+        // every deadline is armed before the first wait so the batch waits commitTimeout at most
+        for (int i = 0; i < commits.size(); i++) {
+            if (commits.get(i) != null) {
+                commits.set(i, withDeadline(commits.get(i), results.get(i).get("id"), commitTimeout));
+            }
+        }
+        for (int i = 0; i < commits.size(); i++) {
+            if (commits.get(i) != null) {
+                results.set(i, commits.get(i).join());
             }
+        }
+        return results;
+    }
 
+    /**
+     * Hands the alert to Kafka. The caller holds an in-flight permit; it is released here once the
+     * broker answers or the send fails. Records Kafka rejects are written to the spill log, when
+     * enabled, and replayed from there later. When {@code confirmation} is given it is completed
+     * with the broker's answer.
+     */
+    private Map<String, String> send(Alert alert, CompletableFuture<Map<String, String>> confirmation) {
+        String contentHash = alert.getId();
+        boolean pending = false;
+        try {
             if (alert.getTimestamp() == null) {
                 alert.setTimestamp(LocalDateTime.now());
             }
 
-            String alertJson = objectMapper.writeValueAsString(alert);
+            long start = System.nanoTime();
+            byte[] payload = payloadCodec.encode(alert);
+            long sentAt = metrics.recordStage(AlertMetrics.Stage.SERIALIZE, start);
 
+            AlertLane lane = laneRouter.laneFor(alert.getSeverity());
+            String key = laneRouter.recordKey(alert);
             try {
-                CompletableFuture<SendResult<String, String>> future =
-                        kafkaTemplate.send(TOPIC, alert.getId(), alertJson);
+                CompletableFuture<SendResult<String, byte[]>> future = laneRouter.send(lane, key, payload);
+                metrics.recordStage(AlertMetrics.Stage.SEND, sentAt);
 
+                pending = true;
                 future.whenComplete((result, ex) -> {
+                    inFlightTracker.release();
+                    lane.ackLatency().record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
                     if (ex != null) {
+                        metrics.asyncSendFailure(alert.getSeverity());
                         log.error("Failed to publish alert (async) id={}: {}", alert.getId(), ex.getMessage());
+                        boolean spilled = spill(lane, alert.getId(), key, payload);
+                        confirm(confirmation, ackFailedResult(contentHash, spilled));
                     } else {
                         log.info("Alert published to Kafka: id={}, partition={}, offset={}",
                                 alert.getId(),
                                 result.getRecordMetadata().partition(),
                                 result.getRecordMetadata().offset());
+                        confirm(confirmation, acknowledgedResult(contentHash, result));
                     }
                 });
             } catch (Exception sendEx) {
+                metrics.immediateSendFailure(alert.getSeverity());
                 log.error("Immediate Kafka send failure for id={}: {}", alert.getId(), sendEx.getMessage());
-                return Map.of(
+                if (spill(lane, contentHash, key, payload)) {
+                    return confirm(confirmation, Map.of(
+                            "id", contentHash,
+                            "status", "ACCEPTED",
+                            "duplicate", "false",
+                            "message", "Alert accepted but Kafka publish failed",
+                            "kafkaError", "true",
+                            "spilled", "true"
+                    ));
+                }
+                return confirm(confirmation, Map.of(
                         "id", contentHash,
                         "status", "ACCEPTED",
+                        "duplicate", "false",
                         "message", "Alert accepted but Kafka publish failed",
                         "kafkaError", "true"
-                );
+                ));
             }
 
+            rememberRecent(alert);
             return Map.of(
                     "id", contentHash,
                     "status", "ACCEPTED",
+                    "duplicate", "false",
                     "message", "Alert received and queued for processing"
             );
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("Error serializing alert: {}", e.getMessage());
             throw new AlertPublishException("Failed to serialize alert", e);
+        } finally {
+            if (!pending) {
+                inFlightTracker.release();
+            }
         }
     }
 
-    private String generateAlertHash(Alert alert) {
-        String content = String.format("%s:%s:%s:%s",
-                alert.getClientId(),
-                alert.getAlertType(),
-                alert.getMessage(),
-                alert.getSeverity());
+    /**
+     * Adds a handed-off alert to the recent-alerts store. That store only serves queries, so a
+     * failure here is logged and never turns an accepted alert into a failed one.
+     */
+    private void rememberRecent(Alert alert) {
+        try {
+            recentAlerts.record(alert);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record recent alert id={}: {}", alert.getId(), e.getMessage());
+        }
+    }
+
+    private boolean spill(AlertLane lane, String contentHash, String key, byte[] payload) {
+        if (!spillLog.isEnabled()) {
+            return false;
+        }
+        boolean spilled = spillLog.append(lane.topic(), key, payload);
+        if (spilled) {
+            log.warn("Alert spilled to local log for replay: id={}", contentHash);
+        }
+        return spilled;
+    }
+
+    private void checkRateLimit(Alert alert) {
+        RateLimitDecision decision = rateLimiter.tryAcquire(alert.getClientId(), alert.getSeverity());
+        if (!decision.allowed()) {
+            log.warn("Rate limit exceeded for clientId={}, severity={}", alert.getClientId(), alert.getSeverity());
+            throw new RateLimitExceededException("Rate limit exceeded for client " + alert.getClientId() + "; retry later",
+                    decision.limit(), decision.remaining(), decision.retryAfterSeconds());
+        }
+    }
+
+    private void acquirePermit(String contentHash) {
+        if (!inFlightTracker.tryAcquire()) {
+            log.warn("In-flight limit reached; rejecting alert id={}", contentHash);
+            throw new PublishBackpressureException("Too many alerts awaiting Kafka acknowledgement; retry later",
+                    inFlightTracker.retryAfterSeconds());
+        }
+    }
+
+    private static Map<String, String> confirm(CompletableFuture<Map<String, String>> confirmation,
+                                               Map<String, String> result) {
+        if (confirmation != null) {
+            confirmation.complete(result);
+        }
+        return result;
+    }
+
+    private static CompletableFuture<Map<String, String>> withDeadline(CompletableFuture<Map<String, String>> confirmation,
+                                                                       String contentHash, Duration timeout) {
+        return confirmation.completeOnTimeout(Map.of(
+                "id", contentHash,
+                "status", "ACCEPTED",
+                "duplicate", "false",
+                "acknowledged", "false",
+                "message", "Kafka did not acknowledge within " + timeout.toMillis() + "ms; alert remains queued for delivery"
+        ), timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static Map<String, String> acknowledgedResult(String contentHash, SendResult<String, byte[]> result) {
+        return Map.of(
+                "id", contentHash,
+                "status", "ACCEPTED",
+                "duplicate", "false",
+                "acknowledged", "true",
+                "partition", String.valueOf(result.getRecordMetadata().partition()),
+                "offset", String.valueOf(result.getRecordMetadata().offset()),
+                "message", "Alert acknowledged by Kafka"
+        );
+    }
+
+    private static Map<String, String> ackFailedResult(String contentHash, boolean spilled) {
+        return Map.of(
+                "id", contentHash,
+                "status", "ACCEPTED",
+                "duplicate", "false",
+                "acknowledged", "false",
+                "kafkaError", "true",
+                "spilled", String.valueOf(spilled),
+                "message", "Alert accepted but Kafka publish failed"
+        );
+    }
+
+    private Map<String, String> rejectedResult(String contentHash) {
+        return Map.of(
+                "id", contentHash,
+                "status", "REJECTED",
+                "duplicate", "false",
+                "message", "Too many alerts awaiting Kafka acknowledgement; retry later",
+                "retryAfterSeconds", String.valueOf(inFlightTracker.retryAfterSeconds())
+        );
+    }
+
+    private Map<String, String> rateLimitedResult(String contentHash, RateLimitDecision decision) {
+        return Map.of(
+                "id", contentHash,
+                "status", "REJECTED",
+                "duplicate", "false",
+                "message", "Rate limit exceeded for client; retry later",
+                "retryAfterSeconds", String.valueOf(decision.retryAfterSeconds())
+        );
+    }
 
-        return UUID.nameUUIDFromBytes(content.getBytes()).toString();
+    private Map<String, String> duplicateResult(String contentHash) {
+        return Map.of(
+                "id", contentHash,
+                "status", "ACCEPTED",
+                "duplicate", "true",
+                "message", "Duplicate alert detected within window; not republished"
+        );
     }
 }
@@ -0,0 +1,204 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.config.RateLimitProperties;
+import com.ubisafe.notification_api.domain.Severity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token-bucket limiter shared across nodes through Redis.
+ * <p>
+ * The bucket of each client and severity lives in Redis, but a node does not ask Redis for every
+ * request: it leases {@code leaseSize} tokens at once through an atomic script and spends them
+ * locally until they run out or the lease expires. A refused lease is also remembered locally
+ * until its retry time, so a throttled client does not reach Redis either. Redis failures fail
+ * open, like deduplication does, so an outage never blocks ingestion; a failed lease is remembered
+ * for one lease TTL so a slow Redis costs one call per bucket and TTL, not one per request.
+ * <p>
+ * The Redis call runs outside the bucket monitor and only one lease per bucket is in flight;
+ * concurrent requests for that bucket wait for its outcome instead of queueing their own calls.
+ */
+@Slf4j
+public class ClientRateLimiter {
+
+    private static final int MAX_TRACKED_BUCKETS = 10_000;
+
+    private final RateLimitProperties properties;
+    private final TokenLeaseSource leaseSource;
+    private final LongSupplier nanoClock;
+    private final long leaseTtlNanos;
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextEvictionAt;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Takes up to {@code requested} tokens from the shared bucket under {@code key}.
+     */
+    @FunctionalInterface
+    public interface TokenLeaseSource {
+        TokenLease lease(String key, RateLimitProperties.Limit limit, int requested);
+    }
+
+    public record TokenLease(long granted, long remaining, long retryAfterMillis) {
+    }
+
+    public ClientRateLimiter(RateLimitProperties properties, TokenLeaseSource leaseSource, MeterRegistry meterRegistry) {
+        this(properties, leaseSource, meterRegistry, System::nanoTime);
+    }
+
+    ClientRateLimiter(RateLimitProperties properties, TokenLeaseSource leaseSource,
+                      MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.leaseSource = leaseSource;
+        this.nanoClock = nanoClock;
+        this.leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getLeaseTtlMs());
+        this.nextEvictionAt = new AtomicLong(nanoClock.getAsLong());
+        registerMeters(meterRegistry);
+        log.info("Client rate limiting enabled={}, leaseSize={}, leaseTtlMs={}",
+                properties.isEnabled(), properties.getLeaseSize(), properties.getLeaseTtlMs());
+    }
+
+    public RateLimitDecision tryAcquire(String clientId, Severity severity) {
+        if (!properties.isEnabled()) {
+            return RateLimitDecision.UNLIMITED;
+        }
+        RateLimitProperties.Limit limit = properties.limitFor(clientId, severity);
+        String key = clientId + ":" + severity;
+        evictIdleBuckets(nanoClock.getAsLong());
+        LocalBucket bucket = buckets.computeIfAbsent(key, k -> new LocalBucket());
+
+        synchronized (bucket) {
+            while (true) {
+                long now = nanoClock.getAsLong();
+                if (bucket.tokens > 0 && bucket.expiresAt - now > 0) {
+                    return allow(limit, bucket);
+                }
+                if (bucket.deniedUntil - now > 0) {
+                    return throttle(limit, bucket.deniedUntil - now);
+                }
+                if (bucket.failOpenUntil - now > 0) {
+                    return failOpen(limit);
+                }
+                if (!bucket.leasing) {
+                    bucket.leasing = true;
+                    break;
+                }
+                try {
+                    bucket.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return failOpen(limit);
+                }
+            }
+        }
+
+        int requested = (int) Math.max(1, Math.min(properties.getLeaseSize(), limit.getCapacity()));
+        TokenLease lease = null;
+        try {
+            lease = leaseSource.lease(key, limit, requested);
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Rate limit lease failed for key={}, allowing requests for {} ms: {}",
+                    key, properties.getLeaseTtlMs(), e.getMessage());
+        }
+
+        synchronized (bucket) {
+            bucket.leasing = false;
+            bucket.notifyAll();
+            long now = nanoClock.getAsLong();
+            if (lease == null) {
+                bucket.tokens = 0;
+                bucket.failOpenUntil = now + leaseTtlNanos;
+                return failOpen(limit);
+            }
+            leases.increment();
+
+            if (lease.granted() > 0) {
+                bucket.tokens = lease.granted();
+                bucket.remoteRemaining = lease.remaining();
+                bucket.expiresAt = now + leaseTtlNanos;
+                bucket.deniedUntil = now;
+                return allow(limit, bucket);
+            }
+            bucket.tokens = 0;
+            bucket.remoteRemaining = lease.remaining();
+            long retryNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, lease.retryAfterMillis()));
+            bucket.deniedUntil = now + retryNanos;
+            bucket.expiresAt = bucket.deniedUntil;
+            return throttle(limit, retryNanos);
+        }
+    }
+
+    /**
+     * Drops idle buckets once the map outgrows its bound, at most once per lease TTL so a map full
+     * of active buckets is not rescanned on every request.
+     */
+    private void evictIdleBuckets(long now) {
+        long due = nextEvictionAt.get();
+        if (buckets.size() <= MAX_TRACKED_BUCKETS || now - due < 0
+                || !nextEvictionAt.compareAndSet(due, now + leaseTtlNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private RateLimitDecision allow(RateLimitProperties.Limit limit, LocalBucket bucket) {
+        bucket.tokens--;
+        allowed.increment();
+        return new RateLimitDecision(true, limit.getCapacity(), bucket.remoteRemaining + bucket.tokens, 0);
+    }
+
+    private RateLimitDecision failOpen(RateLimitProperties.Limit limit) {
+        allowed.increment();
+        return new RateLimitDecision(true, limit.getCapacity(), -1, 0);
+    }
+
+    private RateLimitDecision throttle(RateLimitProperties.Limit limit, long retryNanos) {
+        throttled.increment();
+        long retrySeconds = Math.max(1, (retryNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return new RateLimitDecision(false, limit.getCapacity(), 0, retrySeconds);
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        FunctionCounter.builder("alert.ratelimit.decisions", allowed, LongAdder::doubleValue)
+                .tag("outcome", "allowed")
+                .description("Rate-limit decisions taken by this node")
+                .register(registry);
+        FunctionCounter.builder("alert.ratelimit.decisions", throttled, LongAdder::doubleValue)
+                .tag("outcome", "throttled")
+                .description("Rate-limit decisions taken by this node")
+                .register(registry);
+        FunctionCounter.builder("alert.ratelimit.leases", leases, LongAdder::doubleValue)
+                .description("Token leases requested from Redis")
+                .register(registry);
+        FunctionCounter.builder("alert.ratelimit.lease.failures", failures, LongAdder::doubleValue)
+                .description("Token leases that failed and let the request through")
+                .register(registry);
+    }
+
+    private static final class LocalBucket {
+
+        private long tokens;
+        private long remoteRemaining;
+        private long expiresAt;
+        private long deniedUntil;
+        private long failOpenUntil;
+        private boolean leasing;
+
+        private synchronized boolean isIdle(long now) {
+            return !leasing && expiresAt - now <= 0 && deniedUntil - now <= 0 && failOpenUntil - now <= 0;
+        }
+    }
+}
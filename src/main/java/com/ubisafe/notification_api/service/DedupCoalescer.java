@@ -0,0 +1,128 @@
+package com.ubisafe.notification_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gathers dedup checks from concurrent callers and sends them to Redis as one pipelined batch.
+ * <p>
+ * A single dispatcher thread waits for the first pending id, then keeps collecting until either
+ * {@code maxBatchSize} ids are queued or {@code windowMicros} have passed since the first one.
+ * The batch is answered through {@code batchCheck} (positional results) and each caller's future
+ * is completed on its own. While a batch is in flight new callers queue up for the next one, so
+ * batches grow with load and a quiet system pays at most one window of extra latency.
+ */
+@Slf4j
+public class DedupCoalescer implements AutoCloseable {
+
+    private final Function<List<String>, List<Boolean>> batchCheck;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public DedupCoalescer(Function<List<String>, List<Boolean>> batchCheck, long windowMicros, int maxBatchSize) {
+        this.batchCheck = batchCheck;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.dispatcher = new Thread(this::dispatchLoop, "dedup-coalescer");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public CompletableFuture<Boolean> submit(String alertId) {
+        Pending pending = new Pending(alertId, new CompletableFuture<>());
+        if (!running) {
+            pending.future.completeExceptionally(new IllegalStateException("Dedup coalescer is closed"));
+            return pending.future;
+        }
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void dispatchLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        failRemaining();
+    }
+
+    private void dispatch(List<Pending> batch) {
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            ids.add(pending.alertId);
+        }
+        try {
+            List<Boolean> duplicates = batchCheck.apply(ids);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(duplicates.get(i));
+            }
+            log.trace("Coalesced dedup batch dispatched: size={}", batch.size());
+        } catch (Exception e) {
+            log.warn("Coalesced dedup batch failed size={}: {}", batch.size(), e.getMessage());
+            for (Pending pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void failRemaining() {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new IllegalStateException("Dedup coalescer is closed"));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dispatcher.isAlive()) {
+            dispatcher.interrupt();
+        }
+        failRemaining();
+    }
+
+    private record Pending(String alertId, CompletableFuture<Boolean> future) {
+    }
+}
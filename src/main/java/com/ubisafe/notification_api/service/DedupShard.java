@@ -0,0 +1,17 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * One Redis node holding a slice of the dedup keyspace, with its own connection, and the counter
+ * of checks it failed to answer.
+ */
+public record DedupShard(String name, RedisTemplate<String, String> redisTemplate,
+                         ReactiveStringRedisTemplate reactiveRedisTemplate, Counter failures) {
+
+    public void failed() {
+        failures.increment();
+    }
+}
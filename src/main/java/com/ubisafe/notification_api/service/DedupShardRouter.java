@@ -0,0 +1,158 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads the dedup keyspace over several Redis nodes with a consistent-hash ring. Each shard owns
+ * {@code virtualNodes} points on the ring and an id belongs to the first point at or after its
+ * hash, so adding or removing a node only moves the ids of that node's arcs. Every shard has its
+ * own connection; a failing node only affects the ids it owns.
+ */
+@Slf4j
+public class DedupShardRouter implements DisposableBean {
+
+    private static final ThreadLocal<Murmur3Hash128> HASHER = ThreadLocal.withInitial(Murmur3Hash128::new);
+
+    private final List<DedupShard> shards;
+    private final NavigableMap<Long, DedupShard> ring = new TreeMap<>();
+    private final List<AutoCloseable> ownedResources;
+    private final ExecutorService fanOut;
+
+    public DedupShardRouter(List<DedupShard> shards, int virtualNodes, List<AutoCloseable> ownedResources) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one dedup shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.ownedResources = new ArrayList<>(ownedResources);
+        for (DedupShard shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard.name() + "#" + i), shard);
+            }
+        }
+        if (shards.size() > 1) {
+            AtomicInteger threads = new AtomicInteger();
+            fanOut = Executors.newFixedThreadPool(shards.size() - 1, runnable -> {
+                Thread thread = new Thread(runnable, "dedup-shard-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            fanOut = null;
+        }
+        log.info("Dedup shards: {} (virtualNodes={})", shards.stream().map(DedupShard::name).toList(), virtualNodes);
+    }
+
+    /**
+     * The whole keyspace on the given templates, as before sharding was introduced.
+     */
+    public static DedupShardRouter single(RedisTemplate<String, String> redisTemplate,
+                                          ReactiveStringRedisTemplate reactiveRedisTemplate,
+                                          MeterRegistry meterRegistry) {
+        return new DedupShardRouter(List.of(shard("default", redisTemplate, reactiveRedisTemplate, meterRegistry)),
+                1, List.of());
+    }
+
+    public static DedupShard shard(String name, RedisTemplate<String, String> redisTemplate,
+                                   ReactiveStringRedisTemplate reactiveRedisTemplate, MeterRegistry meterRegistry) {
+        Counter failures = Counter.builder("alert.dedup.shard.failures")
+                .tag("shard", name)
+                .description("Dedup checks a shard failed to answer; its ids were treated as new")
+                .register(meterRegistry);
+        return new DedupShard(name, redisTemplate, reactiveRedisTemplate, failures);
+    }
+
+    public DedupShard shardFor(String alertId) {
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        Map.Entry<Long, DedupShard> entry = ring.ceilingEntry(hash(alertId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public List<DedupShard> shards() {
+        return shards;
+    }
+
+    /**
+     * Runs {@code check} once per shard over the ids it owns, in parallel, and returns the
+     * per-id answers in input order. {@code check} handles its own shard's failures, so one
+     * unavailable node does not fail the others' ids.
+     */
+    public List<Boolean> checkAll(List<String> alertIds, ShardCheck check) {
+        if (shards.size() == 1) {
+            return check.check(shards.get(0), alertIds);
+        }
+        Map<DedupShard, List<Integer>> positions = new LinkedHashMap<>();
+        for (int i = 0; i < alertIds.size(); i++) {
+            positions.computeIfAbsent(shardFor(alertIds.get(i)), shard -> new ArrayList<>()).add(i);
+        }
+
+        Boolean[] results = new Boolean[alertIds.size()];
+        List<CompletableFuture<Void>> pending = new ArrayList<>(positions.size());
+        Map.Entry<DedupShard, List<Integer>> inline = null;
+        for (Map.Entry<DedupShard, List<Integer>> group : positions.entrySet()) {
+            if (inline == null) {
+                inline = group;
+            } else {
+                pending.add(CompletableFuture.runAsync(() -> fill(group, alertIds, check, results), fanOut));
+            }
+        }
+        fill(inline, alertIds, check, results);
+        pending.forEach(CompletableFuture::join);
+        return new ArrayList<>(List.of(results));
+    }
+
+    private static void fill(Map.Entry<DedupShard, List<Integer>> group, List<String> alertIds, ShardCheck check,
+                             Boolean[] results) {
+        List<Integer> indexes = group.getValue();
+        List<String> ids = new ArrayList<>(indexes.size());
+        indexes.forEach(i -> ids.add(alertIds.get(i)));
+        List<Boolean> answers = check.check(group.getKey(), ids);
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = answers.get(i);
+        }
+    }
+
+    private static long hash(String value) {
+        return HASHER.get().reset().putUtf8(value).finish().high();
+    }
+
+    @Override
+    public void destroy() {
+        if (fanOut != null) {
+            fanOut.shutdownNow();
+        }
+        for (AutoCloseable resource : ownedResources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("Failed to close dedup shard resource: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Dedup check of a group of ids against one shard; answers are positional.
+     */
+    @FunctionalInterface
+    public interface ShardCheck {
+
+        List<Boolean> check(DedupShard shard, List<String> alertIds);
+    }
+}
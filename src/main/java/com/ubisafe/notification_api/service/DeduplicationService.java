@@ -1,11 +1,28 @@
 package com.ubisafe.notification_api.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -13,26 +30,289 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class DeduplicationService {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final DedupShardRouter shards;
+    private final LocalDedupCache localCache;
+    private final AlertMetrics metrics;
+    private final MeterRegistry meterRegistry;
 
     @Value("${alert.deduplication.window-seconds:5}")
     private long windowSeconds;
 
-    private static final String PREFIX = "alert:dedup:";
+    @Value("${alert.deduplication.mode:direct}")
+    private String mode;
+
+    @Value("${alert.deduplication.coalescing.window-micros:200}")
+    private long coalescingWindowMicros;
+
+    @Value("${alert.deduplication.coalescing.max-batch-size:128}")
+    private int coalescingMaxBatchSize;
+
+    @Value("${alert.deduplication.coalescing.timeout-ms:2000}")
+    private long coalescingTimeoutMs;
+
+    @Value("${alert.deduplication.circuit-breaker.enabled:true}")
+    private boolean breakerEnabled;
+
+    @Value("${alert.deduplication.circuit-breaker.slow-call-ms:100}")
+    private long breakerSlowCallMs;
+
+    @Value("${alert.deduplication.circuit-breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${alert.deduplication.circuit-breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${alert.deduplication.circuit-breaker.probe-interval-ms:1000}")
+    private long breakerProbeIntervalMs;
+
+    private DedupCoalescer coalescer;
+    private final Map<DedupShard, RedisCircuitBreaker> breakers = new IdentityHashMap<>();
+    private ScheduledExecutorService prober;
+
+    static final String PREFIX = "alert:dedup:";
+    private static final byte[] MARKER = "1".getBytes(StandardCharsets.UTF_8);
+
+    @PostConstruct
+    void init() {
+        if ("coalescing".equalsIgnoreCase(mode)) {
+            coalescer = new DedupCoalescer(this::checkRemote, coalescingWindowMicros, coalescingMaxBatchSize);
+        }
+        if (breakerEnabled) {
+            for (DedupShard shard : shards.shards()) {
+                breakers.put(shard, new RedisCircuitBreaker(shard.name(), breakerSlowCallMs, breakerFailureThreshold,
+                        breakerWindowSize, meterRegistry));
+            }
+            prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "redis-breaker-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+            prober.scheduleWithFixedDelay(this::probeOpenBreakers, breakerProbeIntervalMs, breakerProbeIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Deduplication mode={}, windowSeconds={}, shards={}, circuitBreaker={}",
+                coalescer != null ? "coalescing" : "direct", windowSeconds, shards.shards().size(),
+                breakerEnabled ? "slowCallMs=" + breakerSlowCallMs + ", failureThreshold=" + breakerFailureThreshold
+                        + ", windowSize=" + breakerWindowSize : "off");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    void probeOpenBreakers() {
+        breakers.forEach((shard, breaker) -> breaker.probe(
+                () -> shard.redisTemplate().execute((RedisCallback<String>) RedisConnection::ping)));
+    }
 
     public boolean isDuplicate(String alertId) {
+        long start = System.nanoTime();
+        boolean cached = localCache.contains(alertId);
+        start = metrics.recordDedupStage(AlertMetrics.DedupStage.LOCAL_CACHE, start);
+        if (cached) {
+            log.debug("Duplicate detected locally for id={}", alertId);
+            return true;
+        }
+        DedupShard shard = shards.shardFor(alertId);
+        RedisCircuitBreaker breaker = breakers.get(shard);
+        if (breaker != null && breaker.isOpen()) {
+            return checkLocally(alertId, breaker);
+        }
+        if (coalescer != null) {
+            try {
+                return coalescer.submit(alertId).get(coalescingTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted on dedup check id={}", alertId);
+                metrics.redisFallback(AlertMetrics.DedupPath.SYNC);
+                return false;
+            } catch (Exception e) {
+                log.warn("Redis error on coalesced dedup check id={}: {}", alertId, e.getMessage());
+                metrics.redisFallback(AlertMetrics.DedupPath.SYNC);
+                return false;
+            } finally {
+                metrics.recordDedupStage(AlertMetrics.DedupStage.REDIS, start);
+            }
+        }
         String key = PREFIX + alertId;
         try {
-            Boolean firstTime = redisTemplate.opsForValue().setIfAbsent(key, "1", windowSeconds, TimeUnit.SECONDS);
+            Boolean firstTime = shard.redisTemplate().opsForValue().setIfAbsent(key, "1", windowSeconds, TimeUnit.SECONDS);
+            long end = metrics.recordDedupStage(AlertMetrics.DedupStage.REDIS, start);
+            if (breaker != null) {
+                breaker.onSuccess(end - start);
+            }
             boolean duplicate = firstTime == null || !firstTime;
             if (duplicate) {
                 log.debug("Duplicate detected for id={}", alertId);
+            } else {
+                localCache.remember(alertId);
             }
             return duplicate;
         } catch (Exception e) {
-            log.warn("Redis error on dedup check id={}: {}", alertId, e.getMessage());
+            metrics.recordDedupStage(AlertMetrics.DedupStage.REDIS, start);
+            log.warn("Redis error on dedup check id={}, shard={}: {}", alertId, shard.name(), e.getMessage());
+            shard.failed();
+            if (breaker != null) {
+                breaker.onFailure();
+            }
+            metrics.redisFallback(AlertMetrics.DedupPath.SYNC);
             return false;
         }
     }
-}
 
+    /**
+     * Non-blocking variant of {@link #isDuplicate}. In coalescing mode the check joins the next
+     * pipelined batch; otherwise it goes through Lettuce's reactive API. Either way the calling
+     * thread is not held while Redis answers; the future completes on a Redis I/O or coalescer
+     * thread, so callers should hop to their own executor before doing blocking work.
+     */
+    public CompletableFuture<Boolean> isDuplicateAsync(String alertId) {
+        long start = System.nanoTime();
+        boolean cached = localCache.contains(alertId);
+        long redisStart = metrics.recordDedupStage(AlertMetrics.DedupStage.LOCAL_CACHE, start);
+        if (cached) {
+            log.debug("Duplicate detected locally for id={}", alertId);
+            return CompletableFuture.completedFuture(true);
+        }
+        DedupShard shard = shards.shardFor(alertId);
+        RedisCircuitBreaker breaker = breakers.get(shard);
+        if (breaker != null && breaker.isOpen()) {
+            return CompletableFuture.completedFuture(checkLocally(alertId, breaker));
+        }
+        CompletableFuture<Boolean> result;
+        if (coalescer == null) {
+            result = shard.reactiveRedisTemplate().opsForValue()
+                    .setIfAbsent(PREFIX + alertId, "1", Duration.ofSeconds(windowSeconds))
+                    .map(firstTime -> {
+                        if (breaker != null) {
+                            breaker.onSuccess(System.nanoTime() - redisStart);
+                        }
+                        if (firstTime) {
+                            localCache.remember(alertId);
+                        } else {
+                            log.debug("Duplicate detected for id={}", alertId);
+                        }
+                        return !firstTime;
+                    })
+                    .defaultIfEmpty(true)
+                    .onErrorResume(e -> {
+                        log.warn("Redis error on dedup check id={}, shard={}: {}", alertId, shard.name(), e.getMessage());
+                        shard.failed();
+                        if (breaker != null) {
+                            breaker.onFailure();
+                        }
+                        metrics.redisFallback(AlertMetrics.DedupPath.ASYNC);
+                        return Mono.just(false);
+                    })
+                    .toFuture();
+        } else {
+            result = coalescer.submit(alertId)
+                    .exceptionally(ex -> {
+                        log.warn("Redis error on coalesced dedup check id={}: {}", alertId, ex.getMessage());
+                        metrics.redisFallback(AlertMetrics.DedupPath.ASYNC);
+                        return false;
+                    });
+        }
+        return result.whenComplete((duplicate, ex) -> metrics.recordDedupStage(AlertMetrics.DedupStage.REDIS, redisStart));
+    }
+
+    /**
+     * Checks a whole batch of ids in a single pipelined Redis exchange (one SET NX EX per id).
+     * Results are positional; repeated ids inside the batch are reported as duplicates after
+     * their first occurrence. Ids held by the local cache are answered without going to Redis.
+     * With several shards each one gets its own pipeline, in parallel. When a shard fails the ids it
+     * owns are treated as new, as in {@link #isDuplicate}; ids on healthy shards are unaffected.
+     */
+    public List<Boolean> areDuplicates(List<String> alertIds) {
+        long start = System.nanoTime();
+        List<Boolean> duplicates = new ArrayList<>(alertIds.size());
+        List<String> misses = new ArrayList<>(alertIds.size());
+        for (String alertId : alertIds) {
+            boolean cached = localCache.contains(alertId);
+            duplicates.add(cached);
+            if (!cached) {
+                misses.add(alertId);
+            }
+        }
+        start = metrics.recordDedupStage(AlertMetrics.DedupStage.LOCAL_CACHE, start);
+        if (misses.isEmpty()) {
+            return duplicates;
+        }
+
+        List<Boolean> remote = checkRemote(misses);
+        metrics.recordDedupStage(AlertMetrics.DedupStage.REDIS, start);
+        for (int i = 0, m = 0; i < duplicates.size(); i++) {
+            if (!duplicates.get(i)) {
+                duplicates.set(i, remote.get(m++));
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Dedup answer while the shard's breaker is open: the first sighting on this node is new,
+     * repeats within the window are duplicates. Other nodes are not consulted.
+     */
+    private boolean checkLocally(String alertId, RedisCircuitBreaker breaker) {
+        breaker.degraded();
+        boolean duplicate = !localCache.claim(alertId);
+        if (duplicate) {
+            log.debug("Duplicate detected locally (Redis bypassed) for id={}", alertId);
+        }
+        return duplicate;
+    }
+
+    private List<Boolean> checkRemote(List<String> alertIds) {
+        return shards.checkAll(alertIds, this::checkShard);
+    }
+
+    private List<Boolean> checkShard(DedupShard shard, List<String> alertIds) {
+        RedisCircuitBreaker breaker = breakers.get(shard);
+        if (breaker != null && breaker.isOpen()) {
+            List<Boolean> duplicates = new ArrayList<>(alertIds.size());
+            alertIds.forEach(alertId -> duplicates.add(checkLocally(alertId, breaker)));
+            return duplicates;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Object> replies = shard.redisTemplate().executePipelined((RedisCallback<Object>) connection -> {
+                RedisStringCommands commands = connection.stringCommands();
+                Expiration expiration = Expiration.seconds(windowSeconds);
+                for (String alertId : alertIds) {
+                    byte[] key = (PREFIX + alertId).getBytes(StandardCharsets.UTF_8);
+                    commands.set(key, MARKER, expiration, RedisStringCommands.SetOption.SET_IF_ABSENT);
+                }
+                return null;
+            });
+
+            if (breaker != null) {
+                breaker.onSuccess(System.nanoTime() - start);
+            }
+            List<Boolean> duplicates = new ArrayList<>(alertIds.size());
+            for (int i = 0; i < alertIds.size(); i++) {
+                boolean firstTime = i < replies.size() && Boolean.TRUE.equals(replies.get(i));
+                duplicates.add(!firstTime);
+                if (firstTime) {
+                    localCache.remember(alertIds.get(i));
+                }
+            }
+            log.debug("Pipelined dedup check: size={}, duplicates={}",
+                    alertIds.size(), duplicates.stream().filter(Boolean::booleanValue).count());
+            return duplicates;
+        } catch (Exception e) {
+            log.warn("Redis error on batch dedup check size={}, shard={}: {}", alertIds.size(), shard.name(), e.getMessage());
+            shard.failed();
+            if (breaker != null) {
+                breaker.onFailure();
+            }
+            metrics.redisFallback(AlertMetrics.DedupPath.PIPELINED);
+            return new ArrayList<>(Collections.nCopies(alertIds.size(), false));
+        }
+    }
+}
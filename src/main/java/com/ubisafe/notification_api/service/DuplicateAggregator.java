@@ -0,0 +1,331 @@
+package com.ubisafe.notification_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.AlertRollup;
+import com.ubisafe.notification_api.domain.Severity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts suppressed duplicates and publishes one rollup per alert when its dedup window closes
+ * ({@code alert.deduplication.aggregation.enabled}).
+ * <p>
+ * Duplicates are counted in memory and merged into a Redis hash every flush interval, so a storm
+ * costs one Redis call per distinct alert per interval instead of one per duplicate. The hash lives
+ * on the dedup shard that owns the alert, next to its dedup key. The merge also
+ * schedules the rollup in a sorted set at the moment the alert's dedup key expires. Every node then
+ * claims due rollups with an atomic script, which moves each one to an in-flight hash under a lease
+ * of {@code claim-lease-ms}, and publishes it to its own topic. The hash is deleted only once Kafka
+ * acknowledges the record; a failed send is released for the next claim, and a rollup whose lease
+ * runs out (its node crashed or never heard back) is claimed again. Delivery is therefore
+ * at-least-once: a rollup acknowledged after its lease ran out may be published twice. Counts
+ * flushed after a rollup was claimed start a new, smaller rollup rather than being lost.
+ * <p>
+ * Kafka answers on the producer's network thread, which must not wait on Redis, so the answer is
+ * only queued there and the rollup is settled in Redis by the aggregator thread on its next tick.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DuplicateAggregator {
+
+    static final String ROLLUP_PREFIX = "alert:rollup:";
+    static final String DUE_KEY = "alert:rollup:due";
+    static final String INFLIGHT_PREFIX = "alert:rollup:inflight:";
+    static final String INFLIGHT_KEY = "alert:rollup:inflight";
+
+    static final RedisScript<Long> MERGE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rollup_merge.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rollup_claim.lua"), List.class);
+
+    static final RedisScript<Long> ACK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rollup_ack.lua"), Long.class);
+
+    private static final int CLAIM_LIMIT = 100;
+    private static final int CLAIM_FIELDS = 9;
+
+    private final DedupShardRouter shards;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${alert.deduplication.aggregation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${alert.deduplication.aggregation.topic:alerts.rollups}")
+    private String topic;
+
+    @Value("${alert.deduplication.aggregation.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${alert.deduplication.aggregation.claim-lease-ms:150000}")
+    private long claimLeaseMs;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Settlement> settlements = new ConcurrentLinkedQueue<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("alert.rollup.pending", pending, Map::size)
+                .description("Alerts with duplicates counted locally and not yet merged into Redis")
+                .register(meterRegistry);
+        FunctionCounter.builder("alert.rollup.published", published, LongAdder::doubleValue)
+                .description("Duplicate rollups acknowledged by Kafka")
+                .register(meterRegistry);
+        FunctionCounter.builder("alert.rollup.failed", failures, LongAdder::doubleValue)
+                .description("Rollup publishes that failed; the rollup is claimed and published again")
+                .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duplicate-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Duplicate aggregation enabled: topic={}, flushIntervalMs={}, claimLeaseMs={}", topic, flushIntervalMs,
+                claimLeaseMs);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flush();
+            settleAnswered();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Counts one suppressed duplicate of {@code alert}.
+     */
+    public void record(Alert alert) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        pending.compute(alert.getId(), (id, entry) -> {
+            if (entry == null) {
+                entry = new Pending(alert, now);
+            }
+            entry.count++;
+            entry.lastSeen = now;
+            return entry;
+        });
+    }
+
+    private void tick() {
+        try {
+            settleAnswered();
+            flush();
+            emitDue();
+        } catch (Exception e) {
+            log.warn("Duplicate aggregation tick failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Merges local counts into Redis. Entries that fail to merge are put back for the next flush.
+     */
+    void flush() {
+        long graceMs = Math.max(60_000, flushIntervalMs * 10);
+        for (String id : List.copyOf(pending.keySet())) {
+            Pending entry = pending.remove(id);
+            if (entry == null) {
+                continue;
+            }
+            try {
+                shards.shardFor(id).redisTemplate().execute(MERGE_SCRIPT,
+                        List.of(ROLLUP_PREFIX + id, DUE_KEY, DeduplicationService.PREFIX + id),
+                        id,
+                        String.valueOf(entry.count),
+                        String.valueOf(entry.firstSeen),
+                        String.valueOf(entry.lastSeen),
+                        nullToEmpty(entry.clientId),
+                        nullToEmpty(entry.alertType),
+                        entry.severity == null ? "" : entry.severity.name(),
+                        nullToEmpty(entry.message),
+                        nullToEmpty(entry.source),
+                        String.valueOf(graceMs));
+            } catch (Exception e) {
+                log.warn("Failed to merge duplicate count for id={}, will retry: {}", id, e.getMessage());
+                pending.merge(id, entry, Pending::absorb);
+            }
+        }
+    }
+
+    /**
+     * Claims rollups whose window has closed, or whose earlier publish was never acknowledged, and
+     * publishes them.
+     */
+    void emitDue() {
+        for (DedupShard shard : shards.shards()) {
+            try {
+                emitDue(shard);
+            } catch (Exception e) {
+                log.warn("Failed to claim duplicate rollups on shard={}: {}", shard.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void emitDue(DedupShard shard) {
+        List<?> claimed;
+        do {
+            claimed = shard.redisTemplate().execute(CLAIM_SCRIPT, List.of(DUE_KEY, INFLIGHT_KEY),
+                    ROLLUP_PREFIX, INFLIGHT_PREFIX, String.valueOf(CLAIM_LIMIT), String.valueOf(claimLeaseMs));
+            if (claimed == null) {
+                return;
+            }
+            for (int i = 0; i + CLAIM_FIELDS <= claimed.size(); i += CLAIM_FIELDS) {
+                publish(shard, toRollup(claimed.subList(i, i + CLAIM_FIELDS)));
+            }
+        } while (claimed.size() / CLAIM_FIELDS >= CLAIM_LIMIT);
+    }
+
+    private void publish(DedupShard shard, AlertRollup rollup) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(rollup);
+            kafkaTemplate.send(topic, rollup.getId(), payload).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    failed(shard, rollup, ex);
+                    return;
+                }
+                settlements.add(new Settlement(shard, rollup, true));
+                published.increment();
+                log.info("Duplicate rollup published: id={}, count={}", rollup.getId(), rollup.getCount());
+            });
+        } catch (Exception e) {
+            failed(shard, rollup, e);
+        }
+    }
+
+    private void failed(DedupShard shard, AlertRollup rollup, Throwable e) {
+        failures.increment();
+        log.error("Failed to publish duplicate rollup id={} count={}, will retry: {}", rollup.getId(), rollup.getCount(),
+                e.getMessage());
+        settlements.add(new Settlement(shard, rollup, false));
+    }
+
+    /**
+     * Settles the rollups Kafka has answered for since the last tick.
+     */
+    void settleAnswered() {
+        Settlement settlement;
+        while ((settlement = settlements.poll()) != null) {
+            settle(settlement.shard(), settlement.rollup(), settlement.published());
+        }
+    }
+
+    /**
+     * Deletes the claimed rollup once published, or releases it for the next claim. When this
+     * call fails the lease still expires and the rollup is claimed again.
+     */
+    private void settle(DedupShard shard, AlertRollup rollup, boolean published) {
+        try {
+            shard.redisTemplate().execute(ACK_SCRIPT, List.of(INFLIGHT_KEY, INFLIGHT_PREFIX + rollup.getId()),
+                    rollup.getId(), published ? "1" : "0");
+        } catch (Exception e) {
+            log.warn("Failed to settle duplicate rollup id={} on shard={}; it is retried when its lease expires: {}",
+                    rollup.getId(), shard.name(), e.getMessage());
+        }
+    }
+
+    private static AlertRollup toRollup(List<?> fields) {
+        String severity = String.valueOf(fields.get(6));
+        return AlertRollup.builder()
+                .id(String.valueOf(fields.get(0)))
+                .count(Long.parseLong(String.valueOf(fields.get(1))))
+                .firstSeen(toDateTime(fields.get(2)))
+                .lastSeen(toDateTime(fields.get(3)))
+                .clientId(emptyToNull(fields.get(4)))
+                .alertType(emptyToNull(fields.get(5)))
+                .severity(severity.isEmpty() ? null : Severity.valueOf(severity))
+                .message(emptyToNull(fields.get(7)))
+                .source(emptyToNull(fields.get(8)))
+                .build();
+    }
+
+    private static LocalDateTime toDateTime(Object epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(String.valueOf(epochMillis))), ZoneId.systemDefault());
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(Object value) {
+        String text = String.valueOf(value);
+        return text.isEmpty() ? null : text;
+    }
+
+    private record Settlement(DedupShard shard, AlertRollup rollup, boolean published) {
+    }
+
+    private static final class Pending {
+
+        private final String clientId;
+        private final String alertType;
+        private final String message;
+        private final Severity severity;
+        private final String source;
+        private long firstSeen;
+        private long lastSeen;
+        private long count;
+
+        private Pending(Alert alert, long now) {
+            this.clientId = alert.getClientId();
+            this.alertType = alert.getAlertType();
+            this.message = alert.getMessage();
+            this.severity = alert.getSeverity();
+            this.source = alert.getSource();
+            this.firstSeen = now;
+            this.lastSeen = now;
+        }
+
+        private Pending absorb(Pending other) {
+            count += other.count;
+            firstSeen = Math.min(firstSeen, other.firstSeen);
+            lastSeen = Math.max(lastSeen, other.lastSeen);
+            return this;
+        }
+    }
+}
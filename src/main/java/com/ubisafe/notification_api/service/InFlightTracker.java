@@ -0,0 +1,69 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the number of alerts handed to Kafka but not yet acknowledged. A permit is taken before
+ * an alert is deduplicated and released when the broker answers (or the send fails), so once
+ * Kafka falls behind new alerts are turned away immediately instead of piling up in the producer
+ * buffer and blocking request threads on {@code max.block.ms}.
+ */
+@Slf4j
+@Component
+public class InFlightTracker {
+
+    private final int limit;
+    private final long retryAfterSeconds;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+
+    public InFlightTracker(@Value("${alert.publish.max-in-flight:10000}") int limit,
+                           @Value("${alert.publish.retry-after-seconds:1}") long retryAfterSeconds,
+                           MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder("alert.publish.in_flight", inFlight, AtomicInteger::get)
+                .description("Alerts handed to Kafka and not yet acknowledged")
+                .register(meterRegistry);
+        Gauge.builder("alert.publish.in_flight.limit", () -> this.limit)
+                .description("Maximum alerts allowed in flight before new ones are rejected")
+                .register(meterRegistry);
+        FunctionCounter.builder("alert.publish.rejected", rejections, LongAdder::doubleValue)
+                .description("Alerts rejected because the in-flight limit was reached")
+                .register(meterRegistry);
+        log.info("Publish in-flight limit={}", limit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
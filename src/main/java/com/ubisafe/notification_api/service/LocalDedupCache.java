@@ -0,0 +1,183 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process near-cache of alert ids already seen inside the deduplication window.
+ * <p>
+ * Entries only ever answer "duplicate": a hit lets {@link DeduplicationService} reject a repeat
+ * without a Redis round trip, while a miss still goes to Redis, which stays the authority for
+ * first-seen decisions across nodes. Only ids whose Redis key this node set are remembered, so an
+ * entry never outlives that key by more than clock drift. Every entry lives for the same window,
+ * so insertion order is also expiry order; each segment is an insertion-ordered map that drops
+ * expired entries from its head and evicts its oldest entry once full.
+ */
+@Slf4j
+@Component
+public class LocalDedupCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int segmentCapacity;
+    private final LongSupplier nanoClock;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public LocalDedupCache(@Value("${alert.deduplication.local-cache.enabled:true}") boolean enabled,
+                           @Value("${alert.deduplication.local-cache.max-entries:100000}") int maxEntries,
+                           @Value("${alert.deduplication.window-seconds:5}") long windowSeconds,
+                           MeterRegistry meterRegistry) {
+        this(enabled, maxEntries, windowSeconds, meterRegistry, System::nanoTime);
+    }
+
+    LocalDedupCache(boolean enabled, int maxEntries, long windowSeconds,
+                    MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = enabled && maxEntries > 0;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.segmentCapacity = Math.max(1, maxEntries / SEGMENTS);
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+        registerMeters(meterRegistry);
+        log.info("Local dedup cache enabled={}, maxEntries={}, windowSeconds={}", this.enabled, maxEntries, windowSeconds);
+    }
+
+    /**
+     * Returns {@code true} when the id was seen by this node within the window.
+     */
+    public boolean contains(String alertId) {
+        if (!enabled) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        Segment segment = segmentFor(alertId);
+        synchronized (segment) {
+            segment.expire(now);
+            Long expiresAt = segment.entries.get(alertId);
+            if (expiresAt != null && expiresAt - now > 0) {
+                hits.increment();
+                return true;
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Records an id this node has just set in Redis, so repeats within the window stay local. Ids
+     * Redis reported as duplicates are not remembered: their key was set earlier and may be about
+     * to expire, and caching them for a full window would suppress a legitimate re-fire.
+     */
+    public void remember(String alertId) {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        Segment segment = segmentFor(alertId);
+        synchronized (segment) {
+            segment.expire(now);
+            if (segment.entries.putIfAbsent(alertId, now + windowNanos) == null
+                    && segment.entries.size() > segmentCapacity) {
+                Iterator<String> eldest = segment.entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Records the id and returns {@code true} when this node had not seen it within the window.
+     * Used as the dedup authority while Redis is bypassed, so it works even when the near-cache is
+     * disabled for lookups.
+     */
+    public boolean claim(String alertId) {
+        long now = nanoClock.getAsLong();
+        Segment segment = segmentFor(alertId);
+        synchronized (segment) {
+            segment.expire(now);
+            if (segment.entries.putIfAbsent(alertId, now + windowNanos) != null) {
+                return false;
+            }
+            if (segment.entries.size() > segmentCapacity) {
+                Iterator<String> eldest = segment.entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+            return true;
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String alertId) {
+        int h = alertId.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        FunctionCounter.builder("alert.dedup.cache.hits", hits, LongAdder::doubleValue)
+                .description("Duplicates rejected by the local near-cache without a Redis round trip")
+                .register(registry);
+        FunctionCounter.builder("alert.dedup.cache.misses", misses, LongAdder::doubleValue)
+                .description("Lookups that fell through the local near-cache to Redis")
+                .register(registry);
+        FunctionCounter.builder("alert.dedup.cache.evictions", expirations, LongAdder::doubleValue)
+                .tag("cause", "expired")
+                .description("Entries removed from the local near-cache")
+                .register(registry);
+        FunctionCounter.builder("alert.dedup.cache.evictions", evictions, LongAdder::doubleValue)
+                .tag("cause", "size")
+                .description("Entries removed from the local near-cache")
+                .register(registry);
+        Gauge.builder("alert.dedup.cache.size", this, LocalDedupCache::size)
+                .description("Entries currently held by the local near-cache")
+                .register(registry);
+    }
+
+    private final class Segment {
+
+        private final Map<String, Long> entries = new LinkedHashMap<>();
+
+        private void expire(long now) {
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue() - now > 0) {
+                    return;
+                }
+                it.remove();
+                expirations.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ubisafe.notification_api.service;
+
+/**
+ * Streaming MurmurHash3 x64 128-bit (seed 0), fed byte by byte without intermediate buffers.
+ * <p>
+ * Strings are encoded to UTF-8 on the fly, so hashing a {@link CharSequence} allocates nothing.
+ * Output matches the reference implementation over the same byte sequence. Instances are
+ * mutable and not thread-safe; {@link #reset()} before reuse.
+ */
+public final class Murmur3Hash128 {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private long h1;
+    private long h2;
+    private long k1;
+    private long k2;
+    private int blockPos;
+    private long length;
+
+    private long result1;
+    private long result2;
+
+    public Murmur3Hash128 reset() {
+        h1 = 0;
+        h2 = 0;
+        k1 = 0;
+        k2 = 0;
+        blockPos = 0;
+        length = 0;
+        return this;
+    }
+
+    public Murmur3Hash128 putByte(int b) {
+        long v = b & 0xffL;
+        if (blockPos < 8) {
+            k1 |= v << (blockPos << 3);
+        } else {
+            k2 |= v << ((blockPos - 8) << 3);
+        }
+        length++;
+        if (++blockPos == 16) {
+            mixBlock();
+        }
+        return this;
+    }
+
+    public Murmur3Hash128 putInt(int value) {
+        putByte(value);
+        putByte(value >>> 8);
+        putByte(value >>> 16);
+        return putByte(value >>> 24);
+    }
+
+    /**
+     * Feeds the UTF-8 encoding of {@code chars}; unpaired surrogates are encoded as {@code '?'}
+     * like {@link String#getBytes(java.nio.charset.Charset)} does.
+     */
+    public Murmur3Hash128 putUtf8(CharSequence chars) {
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                putByte(c);
+            } else if (c < 0x800) {
+                putByte(0xc0 | (c >>> 6));
+                putByte(0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, chars.charAt(++i));
+                    putByte(0xf0 | (cp >>> 18));
+                    putByte(0x80 | ((cp >>> 12) & 0x3f));
+                    putByte(0x80 | ((cp >>> 6) & 0x3f));
+                    putByte(0x80 | (cp & 0x3f));
+                } else {
+                    putByte('?');
+                }
+            } else {
+                putByte(0xe0 | (c >>> 12));
+                putByte(0x80 | ((c >>> 6) & 0x3f));
+                putByte(0x80 | (c & 0x3f));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Finalizes the hash; read it with {@link #high()} and {@link #low()}.
+     */
+    public Murmur3Hash128 finish() {
+        long a = h1;
+        long b = h2;
+        if (blockPos > 0) {
+            if (blockPos > 8) {
+                long t = k2 * C2;
+                t = Long.rotateLeft(t, 33);
+                t *= C1;
+                b ^= t;
+            }
+            long t = k1 * C1;
+            t = Long.rotateLeft(t, 31);
+            t *= C2;
+            a ^= t;
+        }
+        a ^= length;
+        b ^= length;
+        a += b;
+        b += a;
+        a = fmix(a);
+        b = fmix(b);
+        a += b;
+        b += a;
+        result1 = a;
+        result2 = b;
+        return this;
+    }
+
+    public long high() {
+        return result1;
+    }
+
+    public long low() {
+        return result2;
+    }
+
+    private void mixBlock() {
+        long a = k1 * C1;
+        a = Long.rotateLeft(a, 31);
+        a *= C2;
+        h1 ^= a;
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        long b = k2 * C2;
+        b = Long.rotateLeft(b, 33);
+        b *= C1;
+        h2 ^= b;
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        k1 = 0;
+        k2 = 0;
+        blockPos = 0;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
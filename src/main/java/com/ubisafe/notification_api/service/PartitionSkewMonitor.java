@@ -0,0 +1,118 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts records per partition as {@link AlertPartitioner} places them and exposes how unevenly
+ * each topic is loaded:
+ * <ul>
+ *   <li>{@code alert.partition.records{topic,partition}}: records assigned to each partition,
+ *   registered for every partition of the topic so idle ones show up as zero.</li>
+ *   <li>{@code alert.partition.skew{topic}}: records on the busiest partition divided by the mean
+ *   per partition, over the last completed window of {@code windowMs}. 1.0 is perfectly even; the
+ *   partition count is the worst case, everything on one partition. NaN while the topic sees no
+ *   traffic.</li>
+ * </ul>
+ * The skew is computed on a fixed schedule and the gauge only reads the result, so any number of
+ * scrapers see the same value.
+ */
+public class PartitionSkewMonitor implements DisposableBean {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TopicLoad> topics = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * With {@code windowMs <= 0} nothing is scheduled and windows are closed by calling {@link #tick}.
+     */
+    public PartitionSkewMonitor(MeterRegistry meterRegistry, long windowMs) {
+        this.meterRegistry = meterRegistry;
+        if (windowMs <= 0) {
+            scheduler = null;
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-skew");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::tick, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(String topic, int partition, int partitionCount) {
+        TopicLoad load = topics.get(topic);
+        if (load == null || load.counters.length < partitionCount) {
+            load = topics.compute(topic, (name, existing) ->
+                    existing != null && existing.counters.length >= partitionCount ? existing : new TopicLoad(name, partitionCount));
+        }
+        load.counters[partition].increment();
+    }
+
+    /**
+     * Skew of {@code topic} over the last completed window, as published by the gauge.
+     */
+    public double skew(String topic) {
+        TopicLoad load = topics.get(topic);
+        return load == null ? Double.NaN : load.skew;
+    }
+
+    /**
+     * Closes the current window of every topic.
+     */
+    void tick() {
+        topics.values().forEach(TopicLoad::closeWindow);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private final class TopicLoad {
+
+        private final Counter[] counters;
+        private final double[] lastCounts;
+        private volatile double skew = Double.NaN;
+
+        private TopicLoad(String topic, int partitionCount) {
+            counters = new Counter[partitionCount];
+            lastCounts = new double[partitionCount];
+            for (int partition = 0; partition < partitionCount; partition++) {
+                counters[partition] = Counter.builder("alert.partition.records")
+                        .tag("topic", topic)
+                        .tag("partition", String.valueOf(partition))
+                        .description("Alert records assigned to each partition by the producer")
+                        .register(meterRegistry);
+                lastCounts[partition] = counters[partition].count();
+            }
+            Gauge.builder("alert.partition.skew", PartitionSkewMonitor.this, monitor -> monitor.skew(topic))
+                    .tag("topic", topic)
+                    .description("Records on the busiest partition over the mean per partition in the last window")
+                    .register(meterRegistry);
+        }
+
+        private synchronized void closeWindow() {
+            double max = 0;
+            double total = 0;
+            for (int partition = 0; partition < counters.length; partition++) {
+                double count = counters[partition].count();
+                double delta = count - lastCounts[partition];
+                lastCounts[partition] = count;
+                max = Math.max(max, delta);
+                total += delta;
+            }
+            skew = total == 0 ? Double.NaN : max / (total / counters.length);
+        }
+    }
+}
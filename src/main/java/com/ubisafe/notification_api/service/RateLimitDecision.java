@@ -0,0 +1,10 @@
+package com.ubisafe.notification_api.service;
+
+/**
+ * Outcome of a rate-limit check. {@code remaining} is this node's best estimate of the tokens left
+ * in the client's bucket: what Redis reported at the last lease plus the unspent local lease.
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, long retryAfterSeconds) {
+
+    static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, -1, -1, 0);
+}
@@ -0,0 +1,14 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.domain.Severity;
+
+import java.time.LocalDateTime;
+
+/**
+ * An accepted alert as kept by {@link RecentAlertStore}. Text fields are cut to the store's
+ * {@code max-field-chars}; {@code sequence} orders alerts by acceptance on this node and
+ * {@code receivedAt} is the acceptance time in epoch milliseconds.
+ */
+public record RecentAlert(long sequence, String id, String clientId, String alertType, String message,
+                          Severity severity, String source, LocalDateTime timestamp, long receivedAt) {
+}
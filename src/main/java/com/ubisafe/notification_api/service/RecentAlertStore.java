@@ -0,0 +1,176 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-local ring buffer of the last {@code alert.recent.capacity} accepted alerts, for "what did
+ * this client send lately" queries that would otherwise mean re-consuming the topic.
+ * <p>
+ * Memory is capped by the capacity and by cutting every text field to {@code max-field-chars}
+ * (alerts whose clientId, the index key, is longer are not kept); the oldest alert is evicted when
+ * the ring wraps. Instead of per-key collections each slot stores
+ * the sequence of the previous alert with the same client and the same severity, so the indexes
+ * are two {@code long}s per alert plus one head per live client and per severity. Sequences grow
+ * with acceptance time, which makes the ring its own time index: a query walks newest-first and
+ * stops at {@code since}, at an evicted slot, or at its limit.
+ * <p>
+ * Appends are serialised by a short lock held only by ingest threads. Readers take no lock: they
+ * read the published sequence, the heads and the slots, and treat a slot whose sequence no longer
+ * matches as evicted.
+ */
+@Slf4j
+@Component
+public class RecentAlertStore {
+
+    /**
+     * No cursor: the first page when passed as {@code before}, the last page when returned.
+     */
+    public static final long NONE = -1;
+
+    private final int capacity;
+    private final int maxFieldChars;
+    private final AtomicReferenceArray<Slot> slots;
+    private final Map<String, Slot> clientHeads = new ConcurrentHashMap<>();
+    private final AtomicLongArray severityHeads = new AtomicLongArray(Severity.values().length);
+    private final Object appendLock = new Object();
+    private final LongAdder evictions = new LongAdder();
+
+    private long nextSequence;
+    private volatile long published = NONE;
+
+    public RecentAlertStore(@Value("${alert.recent.capacity:50000}") int capacity,
+                            @Value("${alert.recent.max-field-chars:512}") int maxFieldChars,
+                            MeterRegistry meterRegistry) {
+        this.capacity = Math.max(0, capacity);
+        this.maxFieldChars = Math.max(1, maxFieldChars);
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        for (int i = 0; i < severityHeads.length(); i++) {
+            severityHeads.set(i, NONE);
+        }
+        Gauge.builder("alert.recent.size", this, RecentAlertStore::size)
+                .description("Alerts held in the recent-alerts ring buffer")
+                .register(meterRegistry);
+        Gauge.builder("alert.recent.clients", clientHeads, Map::size)
+                .description("Distinct clients with at least one alert in the recent-alerts ring buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("alert.recent.evictions", evictions, LongAdder::doubleValue)
+                .description("Alerts evicted from the recent-alerts ring buffer to make room")
+                .register(meterRegistry);
+        log.info("Recent alerts store: capacity={}, maxFieldChars={}", this.capacity, this.maxFieldChars);
+    }
+
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Records an accepted alert, evicting the oldest one when the ring is full.
+     */
+    public void record(Alert alert) {
+        String clientId = alert.getClientId();
+        if (!isEnabled() || clientId == null || clientId.length() > maxFieldChars) {
+            return;
+        }
+        String id = alert.getId();
+        String alertType = cut(alert.getAlertType());
+        String message = cut(alert.getMessage());
+        String source = cut(alert.getSource());
+        synchronized (appendLock) {
+            long sequence = nextSequence++;
+            int index = (int) (sequence % capacity);
+            Slot evicted = slots.get(index);
+            if (evicted != null) {
+                clientHeads.remove(evicted.alert.clientId(), evicted);
+                evictions.increment();
+            }
+            Slot previous = clientHeads.get(clientId);
+            Severity severity = alert.getSeverity();
+            Slot slot = new Slot(new RecentAlert(sequence, id, clientId, alertType, message, severity, source,
+                    alert.getTimestamp(), System.currentTimeMillis()),
+                    previous == null ? NONE : previous.alert.sequence(),
+                    severity == null ? NONE : severityHeads.get(severity.ordinal()));
+            slots.set(index, slot);
+            clientHeads.put(clientId, slot);
+            if (severity != null) {
+                severityHeads.set(severity.ordinal(), sequence);
+            }
+            published = sequence;
+        }
+    }
+
+    /**
+     * Alerts newest first, optionally restricted to one client, one severity and those received at
+     * or after {@code sinceMillis}. {@code before} is the cursor of the previous page ({@code NONE}
+     * for the first page): only alerts with a smaller sequence are returned.
+     */
+    public Page query(String clientId, Severity severity, long sinceMillis, long before, int limit) {
+        long newest = published;
+        if (before != NONE) {
+            newest = Math.min(newest, before - 1);
+        }
+        if (newest < 0) {
+            return new Page(List.of(), NONE);
+        }
+        long sequence;
+        if (clientId != null) {
+            Slot head = clientHeads.get(clientId);
+            sequence = head == null ? NONE : head.alert.sequence();
+        } else if (severity != null) {
+            sequence = severityHeads.get(severity.ordinal());
+        } else {
+            sequence = newest;
+        }
+
+        List<RecentAlert> alerts = new ArrayList<>(Math.min(limit, 100));
+        while (sequence != NONE && sequence >= 0) {
+            Slot slot = slots.get((int) (sequence % capacity));
+            if (slot == null || slot.alert.sequence() != sequence) {
+                break;
+            }
+            RecentAlert alert = slot.alert;
+            if (alert.receivedAt() < sinceMillis) {
+                break;
+            }
+            if (sequence <= newest && (severity == null || severity == alert.severity())) {
+                if (alerts.size() == limit) {
+                    return new Page(alerts, alerts.get(limit - 1).sequence());
+                }
+                alerts.add(alert);
+            }
+            sequence = clientId != null ? slot.previousForClient : severity != null ? slot.previousForSeverity : sequence - 1;
+        }
+        return new Page(alerts, NONE);
+    }
+
+    public int size() {
+        return (int) Math.min(capacity, published + 1);
+    }
+
+    private String cut(String value) {
+        return value == null || value.length() <= maxFieldChars ? value : value.substring(0, maxFieldChars);
+    }
+
+    /**
+     * @param nextCursor pass as {@code before} to get the next page; {@link #NONE} when there is none
+     */
+    public record Page(List<RecentAlert> alerts, long nextCursor) {
+    }
+
+    private record Slot(RecentAlert alert, long previousForClient, long previousForSeverity) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency-budgeted circuit breaker for one Redis dedup shard.
+ * <p>
+ * A call counts as failed when it throws or takes longer than the slow-call budget; once
+ * {@code failureThreshold} of the last {@code windowSize} calls failed the breaker opens and dedup
+ * checks for the shard stop going to Redis at all. Counting over a window rather than a streak
+ * means a Redis that is slow on every other call still trips it. While open, user traffic never
+ * probes Redis: {@link #probe} is run in the background and closes the breaker once a PING
+ * answers within budget.
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+    private final String name;
+    private final long slowCallNanos;
+    private final int failureThreshold;
+    private final LongSupplier nanoClock;
+    private final boolean[] window;
+    private int next;
+    private int failures;
+    private final Counter opened;
+    private final Counter closed;
+    private final Counter degradedChecks;
+    private volatile boolean open;
+
+    public RedisCircuitBreaker(String name, long slowCallMillis, int failureThreshold, int windowSize,
+                               MeterRegistry meterRegistry) {
+        this(name, slowCallMillis, failureThreshold, windowSize, meterRegistry, System::nanoTime);
+    }
+
+    RedisCircuitBreaker(String name, long slowCallMillis, int failureThreshold, int windowSize,
+                        MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.name = name;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.window = new boolean[Math.max(this.failureThreshold, windowSize)];
+        this.nanoClock = nanoClock;
+        this.opened = transitions(meterRegistry, "open");
+        this.closed = transitions(meterRegistry, "closed");
+        this.degradedChecks = Counter.builder("alert.dedup.degraded.checks")
+                .tag("shard", name)
+                .description("Dedup checks answered by the node-local store while the shard's breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("alert.dedup.breaker.open", this, breaker -> breaker.open ? 1 : 0)
+                .tag("shard", name)
+                .description("1 while dedup for the shard runs locally because Redis is failing or slow")
+                .register(meterRegistry);
+    }
+
+    private Counter transitions(MeterRegistry registry, String state) {
+        return Counter.builder("alert.dedup.breaker.transitions")
+                .tag("shard", name)
+                .tag("state", state)
+                .description("Times the shard's Redis circuit breaker changed state")
+                .register(registry);
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Records a Redis call that answered after {@code elapsedNanos}.
+     */
+    public void onSuccess(long elapsedNanos) {
+        record(elapsedNanos > slowCallNanos);
+    }
+
+    public void onFailure() {
+        record(true);
+    }
+
+    private synchronized void record(boolean failed) {
+        if (window[next]) {
+            failures--;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+        if (failures >= failureThreshold && !open) {
+            trip();
+        }
+    }
+
+    private synchronized void resetWindow() {
+        Arrays.fill(window, false);
+        failures = 0;
+    }
+
+    public void degraded() {
+        degradedChecks.increment();
+    }
+
+    /**
+     * Runs {@code ping} against the shard while the breaker is open and closes it when the ping
+     * succeeds within the slow-call budget.
+     */
+    public void probe(Runnable ping) {
+        if (!open) {
+            return;
+        }
+        long start = nanoClock.getAsLong();
+        try {
+            ping.run();
+        } catch (Exception e) {
+            log.debug("Redis shard {} still unavailable: {}", name, e.getMessage());
+            return;
+        }
+        long elapsed = nanoClock.getAsLong() - start;
+        if (elapsed <= slowCallNanos) {
+            resetWindow();
+            open = false;
+            closed.increment();
+            log.info("Redis circuit breaker closed for shard {}: ping answered in {}us", name,
+                    TimeUnit.NANOSECONDS.toMicros(elapsed));
+        } else {
+            log.debug("Redis shard {} still slow: ping took {}ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private void trip() {
+        open = true;
+        opened.increment();
+        log.warn("Redis circuit breaker opened for shard {} after {} of the last {} calls failed or were slow; "
+                + "deduplicating locally", name, failures, window.length);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.config.RateLimitProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Leases tokens from a Redis token bucket with a Lua script, so the refill, the take and the
+ * expiry happen in one atomic step. The bucket clock is Redis' own {@code TIME}, so nodes with
+ * skewed clocks still agree.
+ */
+public class RedisTokenLeaseSource implements ClientRateLimiter.TokenLeaseSource {
+
+    private static final String PREFIX = "alert:ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rate_limit_lease.lua"), List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisTokenLeaseSource(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public ClientRateLimiter.TokenLease lease(String key, RateLimitProperties.Limit limit, int requested) {
+        List<?> result = redisTemplate.execute(LEASE_SCRIPT, List.of(PREFIX + key),
+                String.valueOf(limit.getCapacity()),
+                String.valueOf(limit.getRefillPerSecond()),
+                String.valueOf(requested));
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Unexpected rate limit script reply: " + result);
+        }
+        return new ClientRateLimiter.TokenLease(toLong(result.get(0)), toLong(result.get(1)), toLong(result.get(2)));
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,147 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exactly-once publishing ({@code alert.kafka.transactions.enabled}). Records from any number of
+ * requests are queued and written by a single committer thread, one Kafka transaction per batch:
+ * a batch closes at {@code batch-size} records or {@code linger-ms} after its first record,
+ * whichever comes first. The future returned by {@link #send} completes only once the batch has
+ * committed, or exceptionally when it was aborted, so callers acknowledge nothing a
+ * {@code read_committed} consumer cannot see.
+ * <p>
+ * The template must be transactional and is owned by this publisher, which closes its producers on
+ * shutdown; queue growth is bounded by the caller's in-flight limit.
+ */
+@Slf4j
+public class TransactionalAlertPublisher implements DisposableBean {
+
+    private final KafkaTemplate<String, byte[]> template;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private final Timer commitLatency;
+    private final DistributionSummary batchRecords;
+    private final Counter aborts;
+
+    private volatile boolean running = true;
+
+    public TransactionalAlertPublisher(KafkaTemplate<String, byte[]> template, int batchSize, long lingerMs,
+                                       MeterRegistry meterRegistry) {
+        if (!template.isTransactional()) {
+            throw new IllegalArgumentException("TransactionalAlertPublisher needs a transactional KafkaTemplate");
+        }
+        this.template = template;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+        this.commitLatency = Timer.builder("alert.kafka.transaction.commit")
+                .description("Time to write and commit one transactional batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchRecords = DistributionSummary.builder("alert.kafka.transaction.records")
+                .description("Alerts committed per Kafka transaction")
+                .register(meterRegistry);
+        this.aborts = Counter.builder("alert.kafka.transaction.aborts")
+                .description("Transactional batches aborted; their alerts are reported as failed sends")
+                .register(meterRegistry);
+        this.committer = new Thread(this::run, "alert-tx-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+        log.info("Transactional publishing enabled: batchSize={}, lingerMs={}", this.batchSize, lingerMs);
+    }
+
+    /**
+     * Queues a record for the next transaction. The future completes after that transaction commits.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> send(String topic, String key, byte[] payload) {
+        if (!running) {
+            throw new IllegalStateException("Transactional publisher is shut down");
+        }
+        Pending pending = new Pending(topic, key, payload, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // commit what was collected and drain the queue before exiting
+                running = false;
+            }
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    void commit(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<CompletableFuture<SendResult<String, byte[]>>> sends = template.executeInTransaction(ops -> {
+                List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(batch.size());
+                for (Pending pending : batch) {
+                    futures.add(ops.send(pending.topic, pending.key, pending.payload));
+                }
+                return futures;
+            });
+            batchRecords.record(batch.size());
+            // commitTransaction flushes the batch, so every send has completed by now
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(sends.get(i).join());
+            }
+        } catch (Exception e) {
+            aborts.increment();
+            log.error("Kafka transaction of {} alerts aborted: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        } finally {
+            commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        committer.join(TimeUnit.SECONDS.toMillis(30));
+        Pending late;
+        while ((late = queue.poll()) != null) {
+            late.result.completeExceptionally(new IllegalStateException("Transactional publisher is shut down"));
+        }
+        template.getProducerFactory().reset();
+    }
+
+    record Pending(String topic, String key, byte[] payload, CompletableFuture<SendResult<String, byte[]>> result) {
+    }
+}
@@ -0,0 +1,470 @@
+package com.ubisafe.notification_api.spill;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only spill log made of fixed-size memory-mapped segment files.
+ * <p>
+ * Each record is {@code [int bodyLength][int crc32][body]} where the body holds the topic, the key
+ * and the encoded payload. Appends only copy into the mapped segment; a background task forces
+ * dirty segments and the replay checkpoint to disk every group-commit interval, so durability is
+ * bounded by that interval instead of costing an fsync per record. A replayer drains records in
+ * order, a batch at a time, and advances the checkpoint only after the whole batch has been
+ * acknowledged (at-least-once: a batch that fails half way is sent again). Fully replayed segments
+ * are deleted. On startup existing segments are rescanned, stopping at the first torn record.
+ * <p>
+ * Appends may run on a Kafka producer callback thread, so they never wait on disk: a segment that
+ * fills up is left dirty and forced by the next group commit, outside the write lock.
+ */
+@Slf4j
+public class MappedSpillLog implements SpillLog, AutoCloseable {
+
+    private static final int RECORD_HEADER = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "replay.checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int replayBatchSize;
+    private final long replayTimeoutMs;
+    private final ReplayTarget target;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Object writeLock = new Object();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Cursor cursor = Cursor.EMPTY;
+    private volatile boolean checkpointDirty;
+    private final FileChannel checkpointChannel;
+    private final Object checkpointLock = new Object();
+
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    /**
+     * Where replayed records go; completes when the broker acknowledges the record.
+     */
+    @FunctionalInterface
+    public interface ReplayTarget {
+        CompletableFuture<?> send(String topic, String key, byte[] payload);
+    }
+
+    public MappedSpillLog(Path directory, int segmentBytes, long groupCommitIntervalMs, long replayIntervalMs,
+                          int replayBatchSize, long replayTimeoutMs, ReplayTarget target, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.replayBatchSize = replayBatchSize;
+        this.replayTimeoutMs = replayTimeoutMs;
+        this.target = target;
+        try {
+            Files.createDirectories(directory);
+            this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open spill log in " + directory, e);
+        }
+        registerMeters(meterRegistry);
+
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "spill-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::groupCommit, groupCommitIntervalMs, groupCommitIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::replay, replayIntervalMs, replayIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Spill log opened: directory={}, segments={}, pendingRecords={}", directory, segments.size(), pendingRecords.get());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean append(String topic, String key, byte[] payload) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 2 + topicBytes.length + 2 + (keyBytes == null ? 0 : keyBytes.length) + 4 + payload.length;
+        int recordLength = RECORD_HEADER + bodyLength;
+        if (recordLength > segmentBytes) {
+            log.error("Record of {} bytes does not fit a {} byte spill segment; dropping key={}", recordLength, segmentBytes, key);
+            return false;
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        body.putShort((short) topicBytes.length).put(topicBytes);
+        if (keyBytes == null) {
+            body.putShort((short) -1);
+        } else {
+            body.putShort((short) keyBytes.length).put(keyBytes);
+        }
+        body.putInt(payload.length).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+
+        try {
+            synchronized (writeLock) {
+                Segment segment = segments.peekLast();
+                if (segment == null || segment.writePosition + recordLength > segmentBytes) {
+                    segment = roll();
+                }
+                MappedByteBuffer buffer = segment.buffer;
+                int position = segment.writePosition;
+                buffer.putInt(position + 4, (int) crc.getValue());
+                buffer.put(position + RECORD_HEADER, body.array());
+                // length last, so a torn write is never mistaken for a complete record
+                buffer.putInt(position, bodyLength);
+                segment.writePosition = position + recordLength;
+                segment.dirty = true;
+            }
+        } catch (IOException e) {
+            log.error("Failed to append to spill log key={}: {}", key, e.getMessage());
+            return false;
+        }
+        appended.increment();
+        pendingRecords.incrementAndGet();
+        return true;
+    }
+
+    public long pendingRecords() {
+        return pendingRecords.get();
+    }
+
+    public int segmentCount() {
+        synchronized (writeLock) {
+            return segments.size();
+        }
+    }
+
+    /**
+     * Drains pending records to the replay target until the log is empty or a batch fails.
+     */
+    void replay() {
+        try {
+            while (true) {
+                Cursor current = cursor;
+                Segment segment = current.segment();
+                if (segment == null) {
+                    return;
+                }
+                List<Record> batch = readBatch(segment, current.position());
+                if (batch.isEmpty()) {
+                    if (!advanceSegment(segment)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                List<CompletableFuture<?>> acks = new ArrayList<>(batch.size());
+                for (Record record : batch) {
+                    acks.add(target.send(record.topic, record.key, record.payload));
+                }
+                CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                        .get(replayTimeoutMs, TimeUnit.MILLISECONDS);
+
+                cursor = new Cursor(segment, batch.get(batch.size() - 1).end);
+                checkpointDirty = true;
+                replayed.add(batch.size());
+                pendingRecords.addAndGet(-batch.size());
+                log.info("Replayed {} spilled alerts; {} pending", batch.size(), pendingRecords.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Spill replay paused, will retry: {}", e.getMessage());
+        }
+    }
+
+    void groupCommit() {
+        try {
+            List<Segment> dirty = new ArrayList<>();
+            synchronized (writeLock) {
+                for (Segment segment : segments) {
+                    if (segment.dirty) {
+                        segment.dirty = false;
+                        dirty.add(segment);
+                    }
+                }
+            }
+            for (Segment segment : dirty) {
+                segment.buffer.force();
+            }
+            if (checkpointDirty) {
+                checkpointDirty = false;
+                writeCheckpoint();
+            }
+        } catch (Exception e) {
+            log.error("Spill log group commit failed: {}", e.getMessage());
+        }
+    }
+
+    private List<Record> readBatch(Segment segment, int from) {
+        List<Record> batch = new ArrayList<>();
+        int position = from;
+        int limit = segment.writePosition;
+        ByteBuffer buffer = segment.buffer.duplicate();
+        while (batch.size() < replayBatchSize && position + RECORD_HEADER <= limit) {
+            int bodyLength = buffer.getInt(position);
+            int start = position + RECORD_HEADER;
+            buffer.position(start);
+            byte[] topic = new byte[buffer.getShort()];
+            buffer.get(topic);
+            short keyLength = buffer.getShort();
+            byte[] key = null;
+            if (keyLength >= 0) {
+                key = new byte[keyLength];
+                buffer.get(key);
+            }
+            byte[] payload = new byte[buffer.getInt()];
+            buffer.get(payload);
+            position = start + bodyLength;
+            batch.add(new Record(new String(topic, StandardCharsets.UTF_8),
+                    key == null ? null : new String(key, StandardCharsets.UTF_8), payload, position));
+        }
+        return batch;
+    }
+
+    /**
+     * Moves the reader past a fully replayed segment and deletes it, unless it is still being written.
+     */
+    private boolean advanceSegment(Segment segment) throws IOException {
+        synchronized (writeLock) {
+            if (segments.peekLast() == segment || cursor.position() < segment.writePosition) {
+                return false;
+            }
+            segments.remove(segment);
+            cursor = new Cursor(segments.peekFirst(), 0);
+        }
+        writeCheckpoint();
+        segment.channel.close();
+        Files.deleteIfExists(segment.path);
+        log.info("Spill segment {} fully replayed and deleted", segment.path.getFileName());
+        return true;
+    }
+
+    /**
+     * Opens the next segment. The full one stays dirty and is forced by the next group commit.
+     */
+    private Segment roll() throws IOException {
+        Segment last = segments.peekLast();
+        long id = last == null ? 0 : last.id + 1;
+        Segment segment = openSegment(id, directory.resolve(segmentName(id)));
+        segments.addLast(segment);
+        if (cursor.segment() == null) {
+            cursor = new Cursor(segment, 0);
+        }
+        log.info("Spill segment {} created", segment.path.getFileName());
+        return segment;
+    }
+
+    private Segment openSegment(long id, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        return new Segment(id, path, channel, buffer);
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long checkpointSegment = -1;
+        int checkpointPosition = 0;
+        if (checkpointChannel.size() >= 12) {
+            ByteBuffer checkpoint = ByteBuffer.allocate(12);
+            checkpointChannel.read(checkpoint, 0);
+            checkpointSegment = checkpoint.getLong(0);
+            checkpointPosition = checkpoint.getInt(8);
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            if (id < checkpointSegment) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            Segment segment = openSegment(id, file);
+            segment.writePosition = scan(segment);
+            segments.addLast(segment);
+
+            int from = id == checkpointSegment ? Math.min(checkpointPosition, segment.writePosition) : 0;
+            if (cursor.segment() == null) {
+                cursor = new Cursor(segment, from);
+            }
+            pendingRecords.addAndGet(countRecords(segment, from));
+        }
+    }
+
+    /**
+     * Returns the end of the last intact record; anything after it is zeroed so appends start clean.
+     */
+    private int scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int position = 0;
+        while (position + RECORD_HEADER <= segmentBytes) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength <= 0 || position + RECORD_HEADER + bodyLength > segmentBytes) {
+                break;
+            }
+            byte[] body = new byte[bodyLength];
+            buffer.get(position + RECORD_HEADER, body);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                log.warn("Torn record in spill segment {} at {}; truncating", segment.path.getFileName(), position);
+                break;
+            }
+            position += RECORD_HEADER + bodyLength;
+        }
+        for (int i = position; i < Math.min(segmentBytes, position + RECORD_HEADER); i++) {
+            segment.buffer.put(i, (byte) 0);
+        }
+        return position;
+    }
+
+    private long countRecords(Segment segment, int from) {
+        long count = 0;
+        int position = from;
+        while (position + RECORD_HEADER <= segment.writePosition) {
+            position += RECORD_HEADER + segment.buffer.getInt(position);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Persists the replay cursor. Writers are serialised and read the cursor under the same lock,
+     * so the cursor only moves forward on disk even when group commit and replay race.
+     */
+    private void writeCheckpoint() throws IOException {
+        synchronized (checkpointLock) {
+            Cursor current = cursor;
+            ByteBuffer checkpoint = ByteBuffer.allocate(12);
+            checkpoint.putLong(0, current.segment() == null ? 0 : current.segment().id);
+            checkpoint.putInt(8, current.position());
+            checkpointChannel.write(checkpoint, 0);
+            checkpointChannel.force(false);
+        }
+    }
+
+    private long lagBytes() {
+        long lag = 0;
+        synchronized (writeLock) {
+            Cursor current = cursor;
+            for (Segment segment : segments) {
+                lag += segment.writePosition - (segment == current.segment() ? current.position() : 0);
+            }
+        }
+        return lag;
+    }
+
+    private static String segmentName(long id) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX);
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("alert.spill.segments", this, MappedSpillLog::segmentCount)
+                .description("Spill log segment files on disk")
+                .register(registry);
+        Gauge.builder("alert.spill.replay.lag.records", pendingRecords, AtomicLong::get)
+                .description("Spilled alerts not yet replayed to Kafka")
+                .register(registry);
+        Gauge.builder("alert.spill.replay.lag.bytes", this, MappedSpillLog::lagBytes)
+                .description("Spill log bytes not yet replayed to Kafka")
+                .register(registry);
+        FunctionCounter.builder("alert.spill.appended", appended, LongAdder::doubleValue)
+                .description("Alerts written to the spill log")
+                .register(registry);
+        FunctionCounter.builder("alert.spill.replayed", replayed, LongAdder::doubleValue)
+                .description("Spilled alerts replayed to Kafka")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(replayTimeoutMs + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        groupCommit();
+        synchronized (writeLock) {
+            for (Segment segment : segments) {
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close spill segment {}: {}", segment.path, e.getMessage());
+                }
+            }
+        }
+        try {
+            checkpointChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close spill checkpoint: {}", e.getMessage());
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile int writePosition;
+        private boolean dirty;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private record Record(String topic, String key, byte[] payload, int end) {
+    }
+
+    /**
+     * Replay position, swapped as a whole so the segment and the offset within it always match.
+     */
+    private record Cursor(Segment segment, int position) {
+
+        private static final Cursor EMPTY = new Cursor(null, 0);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ubisafe.notification_api.spill;
+
+/**
+ * Local store for records Kafka did not acknowledge, replayed once the broker is reachable again.
+ */
+public interface SpillLog {
+
+    /**
+     * Appends an encoded record. Returns {@code false} when spilling is disabled or the record
+     * could not be stored, in which case the caller still owns the loss.
+     */
+    boolean append(String topic, String key, byte[] payload);
+
+    boolean isEnabled();
+
+    static SpillLog disabled() {
+        return DisabledSpillLog.INSTANCE;
+    }
+
+    enum DisabledSpillLog implements SpillLog {
+        INSTANCE;
+
+        @Override
+        public boolean append(String topic, String key, byte[] payload) {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    }
+}
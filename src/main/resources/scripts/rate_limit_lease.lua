@@ -0,0 +1,30 @@
+-- Leases up to ARGV[3] tokens from the token bucket at KEYS[1].
+-- ARGV[1] = bucket capacity, ARGV[2] = refill rate in tokens per second.
+-- Returns {granted, tokens left in the bucket, ms until the next token when nothing was granted}.
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+
+local retry = 0
+if granted == 0 then
+    retry = math.ceil((1 - tokens) * 1000 / rate)
+end
+return {granted, math.floor(tokens), retry}
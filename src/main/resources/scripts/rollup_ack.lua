@@ -0,0 +1,8 @@
+-- Settles a claimed rollup. On success (ARGV[2] = 1) its in-flight hash is deleted; on failure
+-- its lease is cut short so the next claim publishes it again.
+-- KEYS[1] = in-flight set, KEYS[2] = in-flight hash; ARGV[1] = id, ARGV[2] = 1 if published
+if ARGV[2] == '1' then
+    redis.call('DEL', KEYS[2])
+    return redis.call('ZREM', KEYS[1], ARGV[1])
+end
+return redis.call('ZADD', KEYS[1], 'XX', 'CH', 0, ARGV[1])
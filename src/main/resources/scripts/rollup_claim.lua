@@ -0,0 +1,54 @@
+-- Claims up to ARGV[3] rollups for publishing under a lease of ARGV[4] ms. A claimed rollup is
+-- moved to its in-flight hash and scheduled in the in-flight set at the lease deadline; it is only
+-- deleted once the publish is acknowledged (rollup_ack.lua). Rollups whose lease ran out without an
+-- acknowledgement are claimed again first, so a broker error or a crashed node delays them
+-- instead of losing them. Counts merged after the claim go to a fresh hash and a new rollup.
+-- KEYS[1] = due set, KEYS[2] = in-flight set
+-- ARGV[1] = rollup key prefix, ARGV[2] = in-flight key prefix, ARGV[3] = limit, ARGV[4] = lease ms
+-- Returns a flat list of (id, count, firstSeen, lastSeen, clientId, alertType, severity, message, source).
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local limit = tonumber(ARGV[3])
+local deadline = now + tonumber(ARGV[4])
+local out = {}
+
+local function emit(id, key)
+    local fields = redis.call('HMGET', key, 'count', 'firstSeen', 'lastSeen', 'clientId', 'alertType',
+            'severity', 'message', 'source')
+    if not fields[1] then
+        return false
+    end
+    table.insert(out, id)
+    for i = 1, 8 do
+        table.insert(out, fields[i] or '')
+    end
+    return true
+end
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now, 'LIMIT', 0, limit)
+for _, id in ipairs(expired) do
+    if emit(id, ARGV[2] .. id) then
+        redis.call('ZADD', KEYS[2], deadline, id)
+    else
+        redis.call('ZREM', KEYS[2], id)
+    end
+end
+
+local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, limit - #expired)
+for _, id in ipairs(ids) do
+    local inflight = ARGV[2] .. id
+    if redis.call('EXISTS', inflight) == 1 then
+        -- an earlier rollup of this alert is still unacknowledged; retry this one after its lease
+        redis.call('ZADD', KEYS[1], deadline, id)
+    else
+        redis.call('ZREM', KEYS[1], id)
+        local key = ARGV[1] .. id
+        if redis.call('EXISTS', key) == 1 then
+            redis.call('RENAME', key, inflight)
+            redis.call('PERSIST', inflight)
+            redis.call('ZADD', KEYS[2], deadline, id)
+            emit(id, inflight)
+        end
+    end
+end
+return out
@@ -0,0 +1,28 @@
+-- Merges a node's duplicate count for one alert into its rollup and schedules the rollup for
+-- when the alert's dedup window closes.
+-- KEYS[1] = rollup hash, KEYS[2] = due set, KEYS[3] = dedup key of the alert
+-- ARGV = id, count, firstSeen ms, lastSeen ms, clientId, alertType, severity, message, source, grace ms
+local count = redis.call('HINCRBY', KEYS[1], 'count', ARGV[2])
+
+local first = tonumber(redis.call('HGET', KEYS[1], 'firstSeen'))
+if not first or tonumber(ARGV[3]) < first then
+    redis.call('HSET', KEYS[1], 'firstSeen', ARGV[3])
+end
+local last = tonumber(redis.call('HGET', KEYS[1], 'lastSeen'))
+if not last or tonumber(ARGV[4]) > last then
+    redis.call('HSET', KEYS[1], 'lastSeen', ARGV[4])
+end
+if count == tonumber(ARGV[2]) then
+    redis.call('HSET', KEYS[1], 'clientId', ARGV[5], 'alertType', ARGV[6], 'severity', ARGV[7],
+            'message', ARGV[8], 'source', ARGV[9])
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local ttl = redis.call('PTTL', KEYS[3])
+if ttl < 0 then
+    ttl = 0
+end
+redis.call('ZADD', KEYS[2], 'NX', now + ttl, ARGV[1])
+redis.call('PEXPIRE', KEYS[1], ttl + tonumber(ARGV[10]))
+return count
@@ -0,0 +1,150 @@
+package com.ubisafe.notification_api.startup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup-time regression check for the {@code fast-startup} build. Launches the packaged jar
+ * {@code runs} times the way the container does (AOT on, lazy initialisation on), reads the time
+ * Spring Boot reports in its "Started ... (process running for N)" line, and fails when the median
+ * exceeds {@code budget-ms}.
+ * <p>
+ * Options are {@code name=value}; arguments starting with {@code --} go to the application and
+ * those starting with a single {@code -} to its JVM, e.g. {@code -XX:SharedArchiveFile=app.jsa}.
+ * No broker is needed: topic auto-creation is switched off and Redis connects lazily.
+ */
+public final class StartupTimeCheck {
+
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+
+    private StartupTimeCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jar = null;
+        int runs = 3;
+        long budgetMillis = 20_000;
+        long timeoutSeconds = 120;
+        String report = "target/startup-report.json";
+        List<String> jvmArgs = new ArrayList<>(List.of(
+                "-Dspring.aot.enabled=true",
+                "-Dspring.main.lazy-initialization=true",
+                "-Dspring.kafka.admin.auto-create=false"));
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=0"));
+
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+                continue;
+            }
+            if (arg.startsWith("-")) {
+                jvmArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(0, eq)) {
+                case "jar" -> jar = value;
+                case "runs" -> runs = Integer.parseInt(value);
+                case "budget-ms" -> budgetMillis = Long.parseLong(value);
+                case "timeout-seconds" -> timeoutSeconds = Long.parseLong(value);
+                case "report" -> report = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + arg.substring(0, eq));
+            }
+        }
+        if (jar == null || !Files.isRegularFile(Path.of(jar))) {
+            throw new IllegalArgumentException("jar=<path to the packaged application> is required, got: " + jar);
+        }
+        if (runs <= 0) {
+            throw new IllegalArgumentException("runs must be positive");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(appArgs);
+        System.out.println("Startup check: " + String.join(" ", command));
+
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = measure(command, timeoutSeconds);
+            System.out.printf(Locale.ROOT, "Startup run %d/%d: %d ms%n", i + 1, runs, millis[i]);
+        }
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        long median = sorted[runs / 2];
+        boolean passed = median <= budgetMillis;
+
+        Path reportPath = Path.of(report);
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        Files.writeString(reportPath, String.format(Locale.ROOT,
+                "{\"runs\":%s,\"medianMillis\":%d,\"budgetMillis\":%d,\"passed\":%b,\"jvmArgs\":\"%s\"}%n",
+                Arrays.toString(millis), median, budgetMillis, passed, String.join(" ", jvmArgs).replace("\"", "\\\"")));
+
+        System.out.printf(Locale.ROOT, "Startup median %d ms (budget %d ms), report written to %s%n", median, budgetMillis, report);
+        if (!passed) {
+            System.err.printf(Locale.ROOT, "Startup regression: median %d ms exceeds the budget of %d ms%n", median, budgetMillis);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts the application once and returns the JVM uptime at which it reported itself started.
+     */
+    private static long measure(List<String> command, long timeoutSeconds) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        CompletableFuture<Long> started = CompletableFuture.supplyAsync(() -> awaitStarted(process));
+        try {
+            return started.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Application did not report startup within " + timeoutSeconds + "s", e);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long awaitStarted(Process process) {
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    return Math.round(Double.parseDouble(matcher.group(2)) * 1000);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read application output", e);
+        }
+        int exitCode;
+        try {
+            exitCode = process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = -1;
+        }
+        throw new IllegalStateException("Application exited before reporting startup (exit code " + exitCode + ")");
+    }
+}
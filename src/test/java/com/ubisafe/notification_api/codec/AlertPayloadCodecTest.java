@@ -0,0 +1,153 @@
+package com.ubisafe.notification_api.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de compatibilidade de ida e volta para os codecs de payload ({@link JsonAlertCodec} e
+ * {@link BinaryAlertCodec}):
+ * - Todos os campos, campos nulos, texto Unicode e mensagens grandes
+ * - Todas as severidades e timestamps antes/depois de 1970
+ * - Formato binário estável (bytes de referência) e detecção automática no deserializer
+ */
+class AlertPayloadCodecTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    static Stream<AlertPayloadCodec> codecs() {
+        return Stream.of(new JsonAlertCodec(MAPPER), new BinaryAlertCodec());
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void roundTrip_ShouldPreserveAllFields(AlertPayloadCodec codec) throws IOException {
+        Alert alert = fullAlert();
+
+        assertEquals(alert, codec.decode(codec.encode(alert)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void roundTrip_ShouldPreserveNullFields(AlertPayloadCodec codec) throws IOException {
+        Alert alert = Alert.builder().clientId("client-1").build();
+
+        assertEquals(alert, codec.decode(codec.encode(alert)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void roundTrip_ShouldPreserveUnicodeAndLargeMessages(AlertPayloadCodec codec) throws IOException {
+        Alert alert = fullAlert();
+        alert.setMessage("Temperatura crítica ⚠ 😀 " + "x".repeat(100_000));
+        alert.setSource("");
+
+        assertEquals(alert, codec.decode(codec.encode(alert)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Severity.class)
+    void roundTrip_ShouldPreserveEverySeverityInBothCodecs(Severity severity) throws IOException {
+        Alert alert = fullAlert();
+        alert.setSeverity(severity);
+
+        for (AlertPayloadCodec codec : codecs().toList()) {
+            assertEquals(severity, codec.decode(codec.encode(alert)).getSeverity(), codec.name());
+        }
+    }
+
+    @Test
+    void binary_ShouldPreserveTimestampsBeforeEpochWithNanos() throws IOException {
+        BinaryAlertCodec codec = new BinaryAlertCodec();
+        Alert alert = fullAlert();
+        alert.setTimestamp(LocalDateTime.of(1969, 7, 20, 20, 17, 40, 123_456_789));
+
+        assertEquals(alert.getTimestamp(), codec.decode(codec.encode(alert)).getTimestamp());
+    }
+
+    @Test
+    void binary_ShouldKeepVersion1LayoutStable() {
+        Alert alert = Alert.builder()
+                .id("i")
+                .clientId("c")
+                .alertType("t")
+                .message("m")
+                .severity(Severity.HIGH)
+                .source("s")
+                .timestamp(LocalDateTime.of(1970, 1, 1, 0, 0, 1, 5))
+                .build();
+
+        byte[] expected = {
+                (byte) 0xA7, 1, 0x7F,
+                1, 'i', 1, 'c', 1, 't', 1, 'm',
+                2,
+                1, 's',
+                2, 5
+        };
+        assertArrayEquals(expected, new BinaryAlertCodec().encode(alert));
+    }
+
+    @Test
+    void binary_ShouldBeSmallerThanJson() throws IOException {
+        Alert alert = fullAlert();
+
+        assertTrue(new BinaryAlertCodec().encode(alert).length < new JsonAlertCodec(MAPPER).encode(alert).length);
+    }
+
+    @Test
+    void binary_ShouldRejectUnknownVersionAndTruncatedPayload() {
+        BinaryAlertCodec codec = new BinaryAlertCodec();
+        byte[] payload = codec.encode(fullAlert());
+
+        byte[] futureVersion = payload.clone();
+        futureVersion[1] = 2;
+        assertThrows(IOException.class, () -> codec.decode(futureVersion));
+        assertThrows(IOException.class, () -> codec.decode(Arrays.copyOf(payload, payload.length - 3)));
+    }
+
+    @Test
+    void json_ShouldMatchOriginalJacksonDocument() throws IOException {
+        Alert alert = fullAlert();
+
+        assertEquals(MAPPER.writeValueAsString(alert),
+                new String(new JsonAlertCodec(MAPPER).encode(alert), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void deserializer_ShouldDetectEitherFormat() throws IOException {
+        Alert alert = fullAlert();
+        AlertPayloadDeserializer deserializer = new AlertPayloadDeserializer();
+
+        assertEquals(alert, deserializer.deserialize("alerts", new BinaryAlertCodec().encode(alert)));
+        assertEquals(alert, deserializer.deserialize("alerts", new JsonAlertCodec(MAPPER).encode(alert)));
+        assertNull(deserializer.deserialize("alerts", null));
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("alerts", "not json".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Alert fullAlert() {
+        return Alert.builder()
+                .id("10c465b5-7ab7-4740-c6ad-217a1b9c3030")
+                .clientId("client-id-123")
+                .alertType("CPU_USAGE_HIGH")
+                .message("CPU above 95% for 5 minutes")
+                .severity(Severity.CRITICAL)
+                .source("agent-7")
+                .timestamp(LocalDateTime.of(2026, 10, 17, 12, 30, 45, 987_000_000))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ubisafe.notification_api.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link ProducerProfile}:
+ * - Perfil padrão preserva a configuração original
+ * - Perfil de vazão mantém ordenação via produtor idempotente
+ */
+class ProducerProfileTest {
+
+    @Test
+    void orderedSafe_ShouldKeepOriginalSettings() {
+        Map<String, Object> props = apply("ordered-safe");
+
+        assertEquals("all", props.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals(3, props.get(ProducerConfig.RETRIES_CONFIG));
+        assertEquals(1, props.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertFalse(props.containsKey(ProducerConfig.LINGER_MS_CONFIG));
+    }
+
+    @Test
+    void throughput_ShouldUseIdempotentProducerWithBatchingAndCompression() {
+        Map<String, Object> props = apply("THROUGHPUT");
+
+        assertEquals("all", props.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals(true, props.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals(5, props.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertTrue((Integer) props.get(ProducerConfig.LINGER_MS_CONFIG) > 0);
+        assertEquals("lz4", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void lowLatency_ShouldDisableLingerAndCompression() {
+        Map<String, Object> props = apply("low-latency");
+
+        assertEquals(0, props.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("none", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void fromKey_ShouldRejectUnknownProfile() {
+        assertThrows(IllegalArgumentException.class, () -> ProducerProfile.fromKey("fast"));
+    }
+
+    private Map<String, Object> apply(String key) {
+        Map<String, Object> props = new HashMap<>();
+        ProducerProfile.fromKey(key).apply(props);
+        return props;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ubisafe.notification_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.service.AlertMetrics;
+import com.ubisafe.notification_api.service.AlertService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static com.ubisafe.notification_api.domain.Severity.HIGH;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de camada web (MVC) para o endpoint de lote {@code POST /alerts/batch}.
+ * Valida:
+ * - Resultado por alerta, na ordem de entrada, com contagens agregadas.
+ * - Rejeição individual de alertas inválidos sem derrubar o lote.
+ * - Limites de tamanho do lote.
+ */
+@WebMvcTest(AlertBatchController.class)
+@Import(KafkaAckPolicy.class)
+@TestPropertySource(properties = "alert.batch.max-size=3")
+class AlertBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private AlertService alertService;
+
+    @MockitoBean
+    private AlertMetrics alertMetrics;
+
+    @Test
+    void createAlerts_ShouldReturnPerAlertResults_InInputOrder() throws Exception {
+        Alert valid1 = alert("client-1", "first");
+        Alert invalid = Alert.builder().clientId("client-2").severity(HIGH).build();
+        Alert valid2 = alert("client-3", "second");
+
+        when(alertService.publishAlerts(anyList(), any(Duration.class))).thenReturn(List.of(
+                Map.of("id", "id-1", "status", "ACCEPTED", "duplicate", "false",
+                        "message", "Alert received and queued for processing"),
+                Map.of("id", "id-2", "status", "ACCEPTED", "duplicate", "true",
+                        "message", "Duplicate alert detected within window; not republished")
+        ));
+
+        mockMvc.perform(post("/alerts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid1, invalid, valid2))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].id").value("id-1"))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].errors.alertType").value("Tipo de alerta é obrigatorio"))
+                .andExpect(jsonPath("$.results[1].errors.message").value("Mensagem é obrigatoria"))
+                .andExpect(jsonPath("$.results[2].index").value(2))
+                .andExpect(jsonPath("$.results[2].duplicate").value("true"));
+    }
+
+    @Test
+    void createAlerts_ShouldNotCallService_WhenAllAlertsInvalid() throws Exception {
+        Alert invalid = Alert.builder().message("no client").build();
+
+        mockMvc.perform(post("/alerts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(invalid))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.accepted").value(0));
+
+        verify(alertService, never()).publishAlerts(anyList(), any(Duration.class));
+    }
+
+    @Test
+    void createAlerts_ShouldReturn400_WhenBatchExceedsMaxSize() throws Exception {
+        List<Alert> alerts = List.of(alert("c", "1"), alert("c", "2"), alert("c", "3"), alert("c", "4"));
+
+        mockMvc.perform(post("/alerts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alerts)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Batch"));
+
+        verify(alertService, never()).publishAlerts(anyList(), any(Duration.class));
+    }
+
+    @Test
+    void createAlerts_ShouldReturn400_WhenBatchEmpty() throws Exception {
+        mockMvc.perform(post("/alerts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Batch"));
+    }
+
+    @Test
+    void createAlerts_ShouldReturn400_WhenBodyIsNotArray() throws Exception {
+        mockMvc.perform(post("/alerts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"alertType\": \"SYSTEM\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Malformed JSON Request"));
+    }
+
+    private Alert alert(String clientId, String message) {
+        return Alert.builder()
+                .alertType("SYSTEM")
+                .clientId(clientId)
+                .message(message)
+                .severity(HIGH)
+                .build();
+    }
+}
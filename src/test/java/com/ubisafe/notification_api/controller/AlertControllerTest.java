@@ -2,19 +2,25 @@ package com.ubisafe.notification_api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.exception.PublishBackpressureException;
+import com.ubisafe.notification_api.exception.RateLimitExceededException;
 import com.ubisafe.notification_api.service.AlertService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.ubisafe.notification_api.domain.Severity.HIGH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,9 +30,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Valida o endpoint de criação de alertas quanto a:
  * - Sucesso (202 Accepted) quando os dados são válidos.
  * - Erros de validação (400 Bad Request) quando campos obrigatórios estão ausentes.
+ * - Confirmação do Kafka (200 OK com partição e offset) quando solicitada via {@code X-Alert-Ack}.
  *
  */
 @WebMvcTest(AlertController.class)
+@Import({KafkaAckPolicy.class, AlertRequestCodec.class})
 class AlertControllerTest {
 
     @Autowired
@@ -127,5 +135,108 @@ class AlertControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Malformed JSON Request"));
     }
-}
 
+    @Test
+    void createAlert_ShouldReturn503WithRetryAfter_WhenPublishBackpressure() throws Exception {
+        Alert alert = Alert.builder()
+                .alertType("SYSTEM")
+                .clientId("client-id-123")
+                .message("Test alert")
+                .severity(HIGH)
+                .build();
+
+        when(alertService.publishAlert(any(Alert.class)))
+                .thenThrow(new PublishBackpressureException("Too many alerts awaiting Kafka acknowledgement; retry later", 2));
+
+        mockMvc.perform(post("/alerts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alert)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
+    @Test
+    void createAlert_ShouldReturn429WithQuotaHeaders_WhenRateLimited() throws Exception {
+        Alert alert = Alert.builder()
+                .alertType("SYSTEM")
+                .clientId("client-id-123")
+                .message("Test alert")
+                .severity(HIGH)
+                .build();
+
+        when(alertService.publishAlert(any(Alert.class)))
+                .thenThrow(new RateLimitExceededException("Rate limit exceeded for client client-id-123; retry later", 200, 0, 3));
+
+        mockMvc.perform(post("/alerts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alert)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(header().string("X-RateLimit-Limit", "200"))
+                .andExpect(header().string("X-RateLimit-Remaining", "0"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+    }
+
+    @Test
+    void createAlert_ShouldReturn200WithOffset_WhenKafkaAckRequested() throws Exception {
+        Alert alert = Alert.builder()
+                .alertType("SYSTEM")
+                .clientId("client-id-123")
+                .message("Test alert")
+                .severity(HIGH)
+                .build();
+
+        when(alertService.publishAlertConfirmed(any(Alert.class), any())).thenReturn(CompletableFuture.completedFuture(Map.of(
+                "id", "test-id-123",
+                "status", "ACCEPTED",
+                "duplicate", "false",
+                "acknowledged", "true",
+                "partition", "2",
+                "offset", "41",
+                "message", "Alert acknowledged by Kafka"
+        )));
+
+        MvcResult pending = mockMvc.perform(post("/alerts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Alert-Ack", "kafka")
+                        .content(objectMapper.writeValueAsString(alert)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.acknowledged").value("true"))
+                .andExpect(jsonPath("$.partition").value("2"))
+                .andExpect(jsonPath("$.offset").value("41"));
+    }
+
+    @Test
+    void createAlert_ShouldReturn202Unacknowledged_WhenKafkaAckTimesOut() throws Exception {
+        Alert alert = Alert.builder()
+                .alertType("SYSTEM")
+                .clientId("client-id-123")
+                .message("Test alert")
+                .severity(HIGH)
+                .build();
+
+        when(alertService.publishAlertConfirmed(any(Alert.class), any())).thenReturn(CompletableFuture.completedFuture(Map.of(
+                "id", "test-id-123",
+                "status", "ACCEPTED",
+                "duplicate", "false",
+                "acknowledged", "false",
+                "message", "Kafka did not acknowledge within 2000ms; alert remains queued for delivery"
+        )));
+
+        MvcResult pending = mockMvc.perform(post("/alerts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Alert-Ack", "kafka")
+                        .content(objectMapper.writeValueAsString(alert)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.acknowledged").value("false"));
+    }
+}
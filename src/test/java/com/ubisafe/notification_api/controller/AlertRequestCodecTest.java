@@ -0,0 +1,112 @@
+package com.ubisafe.notification_api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ubisafe.notification_api.domain.Alert;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.ubisafe.notification_api.domain.Severity.CRITICAL;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link AlertRequestCodec}.
+ * Garante que o parser em streaming aceita e rejeita os mesmos corpos que o data binding do
+ * Jackson, e que os corpos de erro pré-codificados trazem as mesmas mensagens do Bean Validation.
+ */
+class AlertRequestCodecTest {
+
+    private ObjectMapper objectMapper;
+    private AlertRequestCodec codec;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        codec = new AlertRequestCodec(objectMapper);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void read_ShouldBindLikeObjectMapper() throws Exception {
+        String json = "{\"clientId\":\"client-1\",\"alertType\":42,\"message\":\"Disk full\","
+                + "\"severity\":\"CRITICAL\",\"source\":null,\"timestamp\":\"2025-01-02T03:04:05\"}";
+
+        Alert alert = read(json);
+
+        assertEquals(objectMapper.readValue(json, Alert.class), alert);
+        assertEquals("42", alert.getAlertType());
+        assertEquals(CRITICAL, alert.getSeverity());
+        assertEquals(LocalDateTime.of(2025, 1, 2, 3, 4, 5), alert.getTimestamp());
+    }
+
+    @Test
+    void read_ShouldRejectWhatObjectMapperRejects() {
+        for (String json : new String[]{
+                "[\"this\", \"is\", \"an\", \"array\"]",
+                "{\"alertType\": \"SYSTEM\", \"message\": \"Test\", invalid json}",
+                "{\"severity\":\"URGENT\"}",
+                "{\"clientId\":{\"nested\":true}}",
+                "{\"unknown\":1}",
+                ""}) {
+            assertThrows(JsonProcessingException.class, () -> objectMapper.readValue(json, Alert.class), json);
+            assertThrows(JsonProcessingException.class, () -> read(json), json);
+        }
+    }
+
+    @Test
+    void validationFailedBody_ShouldMatchBeanValidationMessages() throws Exception {
+        Alert alert = Alert.builder().clientId(" \t").message("Test alert").build();
+
+        int violations = codec.validate(alert);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writeValidationFailed(violations, out);
+        JsonNode body = objectMapper.readTree(out.toByteArray());
+
+        Map<String, String> expected = new TreeMap<>();
+        for (ConstraintViolation<Alert> violation : validator.validate(alert)) {
+            expected.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        assertEquals(expected, new TreeMap<>(objectMapper.convertValue(body.get("errors"), Map.class)));
+        assertEquals(400, body.get("status").asInt());
+        assertEquals("Validation Failed", body.get("error").asText());
+        assertDoesNotThrow(() -> LocalDateTime.parse(body.get("timestamp").asText()));
+        assertEquals(0, codec.validate(Alert.builder().clientId("c").alertType("t").message("m").severity(CRITICAL).build()));
+    }
+
+    @Test
+    void malformedBody_ShouldMatchExceptionHandler() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writeMalformed(out);
+        JsonNode body = objectMapper.readTree(out.toByteArray());
+
+        assertEquals(400, body.get("status").asInt());
+        assertEquals("Malformed JSON Request", body.get("error").asText());
+        assertEquals("Failed to parse JSON payload. Please check your request body format.", body.get("message").asText());
+    }
+
+    private Alert read(String json) throws Exception {
+        return codec.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,159 @@
+package com.ubisafe.notification_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.service.AlertMetrics;
+import com.ubisafe.notification_api.service.AlertService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static com.ubisafe.notification_api.domain.Severity.HIGH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de camada web (MVC) para o upload NDJSON {@code POST /alerts/stream}.
+ * Valida:
+ * - Um resultado por linha, com o número da linha de entrada, seguido do resumo.
+ * - Publicação em blocos de {@code alert.stream.chunk-size} linhas.
+ * - Rejeição individual de linhas malformadas, inválidas ou longas demais.
+ * - Modo somente resumo.
+ */
+@WebMvcTest(AlertStreamController.class)
+@Import(KafkaAckPolicy.class)
+@TestPropertySource(properties = {"alert.stream.chunk-size=2", "alert.stream.max-line-bytes=512"})
+class AlertStreamControllerTest {
+
+    private static final Map<String, String> ACCEPTED = Map.of("id", "id-1", "status", "ACCEPTED",
+            "duplicate", "false", "message", "Alert received and queued for processing");
+
+    private static final Map<String, String> DUPLICATE = Map.of("id", "id-2", "status", "ACCEPTED",
+            "duplicate", "true", "message", "Duplicate alert detected within window; not republished");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private AlertService alertService;
+
+    @MockitoBean
+    private AlertMetrics alertMetrics;
+
+    @Test
+    void streamAlerts_ShouldReturnResultPerLine_AndPublishInChunks() throws Exception {
+        when(alertService.publishAlerts(anyList(), any(Duration.class)))
+                .thenReturn(List.of(ACCEPTED))
+                .thenReturn(List.of(DUPLICATE, ACCEPTED));
+
+        String body = line(alert("first")) + "{not json}\n\n"
+                + line(alert("second")) + line(alert("third"))
+                + "{\"clientId\":\"c\",\"severity\":\"HIGH\"}\r\n"
+                + "{\"message\":\"" + "x".repeat(600) + "\"}";
+
+        String response = mockMvc.perform(post("/alerts/stream")
+                        .contentType(AlertStreamController.NDJSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(content().contentTypeCompatibleWith(AlertStreamController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = parse(response);
+        assertEquals(7, lines.size());
+        assertEquals(1, lines.get(0).get("line").asInt());
+        assertEquals("ACCEPTED", lines.get(0).get("status").asText());
+        assertEquals(2, lines.get(1).get("line").asInt());
+        assertEquals("Malformed JSON Request", lines.get(1).get("error").asText());
+        assertEquals(4, lines.get(2).get("line").asInt());
+        assertEquals("true", lines.get(2).get("duplicate").asText());
+        assertEquals(5, lines.get(3).get("line").asInt());
+        assertEquals("Validation Failed", lines.get(4).get("error").asText());
+        assertTrue(lines.get(4).get("errors").has("alertType"));
+        assertEquals(7, lines.get(5).get("line").asInt());
+        assertEquals("Line Too Long", lines.get(5).get("error").asText());
+
+        JsonNode summary = lines.get(6);
+        assertFalse(summary.has("line"));
+        assertEquals(6, summary.get("total").asInt());
+        assertEquals(2, summary.get("accepted").asInt());
+        assertEquals(1, summary.get("duplicates").asInt());
+        assertEquals(3, summary.get("rejected").asInt());
+        verify(alertService, times(2)).publishAlerts(anyList(), any(Duration.class));
+    }
+
+    @Test
+    void streamAlerts_ShouldOnlyReturnSummary_WhenRequested() throws Exception {
+        when(alertService.publishAlerts(anyList(), any(Duration.class))).thenReturn(List.of(ACCEPTED, DUPLICATE));
+
+        String response = mockMvc.perform(post("/alerts/stream")
+                        .param("results", "summary")
+                        .contentType(AlertStreamController.NDJSON)
+                        .content(line(alert("first")) + line(alert("second"))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = parse(response);
+        assertEquals(1, lines.size());
+        assertEquals(2, lines.get(0).get("total").asInt());
+        assertEquals(1, lines.get(0).get("duplicates").asInt());
+    }
+
+    @Test
+    void streamAlerts_ShouldReportAbort_WhenPublishFails() throws Exception {
+        when(alertService.publishAlerts(anyList(), any(Duration.class))).thenThrow(new IllegalStateException("boom"));
+
+        String response = mockMvc.perform(post("/alerts/stream")
+                        .contentType(AlertStreamController.NDJSON)
+                        .content(line(alert("first"))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = parse(response);
+        assertEquals(2, lines.size());
+        assertEquals("ABORTED", lines.get(0).get("status").asText());
+        assertEquals(1, lines.get(0).get("line").asInt());
+        assertEquals(0, lines.get(1).get("total").asInt());
+    }
+
+    private List<JsonNode> parse(String ndjson) throws Exception {
+        assertTrue(ndjson.endsWith("\n"));
+        return ndjson.lines().map(l -> {
+            try {
+                return objectMapper.readTree(l);
+            } catch (Exception e) {
+                throw new AssertionError("Linha inválida: " + l, e);
+            }
+        }).toList();
+    }
+
+    private String line(Alert alert) throws Exception {
+        return objectMapper.writeValueAsString(alert) + "\n";
+    }
+
+    private static Alert alert(String message) {
+        return Alert.builder()
+                .alertType("SYSTEM")
+                .clientId("client-1")
+                .message(message)
+                .severity(HIGH)
+                .build();
+    }
+}
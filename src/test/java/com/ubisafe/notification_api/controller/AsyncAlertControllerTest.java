@@ -0,0 +1,85 @@
+package com.ubisafe.notification_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ubisafe.notification_api.config.AsyncIngestConfig;
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.service.AlertService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.ubisafe.notification_api.domain.Severity.HIGH;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de camada web (MVC) para o {@code AsyncAlertController} ({@code alert.ingest.mode=async}).
+ * Valida que a resposta 202 é concluída de forma assíncrona e que a validação continua síncrona.
+ */
+@WebMvcTest(AsyncAlertController.class)
+@Import({AsyncIngestConfig.class, KafkaAckPolicy.class, AlertRequestCodec.class})
+@TestPropertySource(properties = "alert.ingest.mode=async")
+class AsyncAlertControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private AlertService alertService;
+
+    @Test
+    void createAlert_ShouldCompleteAsyncWith202_WhenValidAlert() throws Exception {
+        Alert alert = Alert.builder()
+                .alertType("SYSTEM")
+                .clientId("client-id-123")
+                .message("Test alert")
+                .severity(HIGH)
+                .build();
+
+        when(alertService.publishAlertAsync(any(Alert.class), any())).thenReturn(CompletableFuture.completedFuture(Map.of(
+                "id", "test-id-123",
+                "status", "ACCEPTED",
+                "duplicate", "false",
+                "message", "Alert received and queued for processing"
+        )));
+
+        MvcResult pending = mockMvc.perform(post("/alerts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alert)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("test-id-123"))
+                .andExpect(jsonPath("$.duplicate").value("false"));
+    }
+
+    @Test
+    void createAlert_ShouldReturn400WithoutStartingAsync_WhenInvalid() throws Exception {
+        mockMvc.perform(post("/alerts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+
+        verify(alertService, never()).publishAlertAsync(any(), any());
+    }
+}
@@ -0,0 +1,66 @@
+package com.ubisafe.notification_api.controller;
+
+import com.ubisafe.notification_api.service.RecentAlert;
+import com.ubisafe.notification_api.service.RecentAlertStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ubisafe.notification_api.domain.Severity.HIGH;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de camada web (MVC) para o {@code RecentAlertsController}.
+ * Valida a consulta paginada dos alertas recentes e a rejeição (400) de parâmetros inválidos.
+ */
+@WebMvcTest(RecentAlertsController.class)
+class RecentAlertsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RecentAlertStore store;
+
+    @Test
+    void recentAlerts_ShouldReturnPageWithNextCursor() throws Exception {
+        RecentAlert alert = new RecentAlert(41, "id-1", "client-a", "DISK", "Disk almost full", HIGH, "node-1",
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5), System.currentTimeMillis());
+        when(store.query(eq("client-a"), eq(HIGH), anyLong(), eq(RecentAlertStore.NONE), eq(1)))
+                .thenReturn(new RecentAlertStore.Page(List.of(alert), 41));
+
+        mockMvc.perform(get("/alerts")
+                        .param("clientId", "client-a")
+                        .param("severity", "HIGH")
+                        .param("since", "PT5M")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alerts[0].id").value("id-1"))
+                .andExpect(jsonPath("$.alerts[0].severity").value("HIGH"))
+                .andExpect(jsonPath("$.alerts[0].timestamp").value("2025-01-02T03:04:05"))
+                .andExpect(jsonPath("$.nextCursor").value("41"));
+    }
+
+    @Test
+    void recentAlerts_ShouldReturn400_WhenParametersInvalid() throws Exception {
+        mockMvc.perform(get("/alerts").param("severity", "URGENT"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Query"));
+        mockMvc.perform(get("/alerts").param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/alerts").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(store);
+    }
+}
@@ -0,0 +1,162 @@
+package com.ubisafe.notification_api.dispatch;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ubisafe.notification_api.domain.Severity.CRITICAL;
+import static com.ubisafe.notification_api.domain.Severity.LOW;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o {@link AlertDispatcher}:
+ * - Cada alerta vai para os canais que o aceitam, e o lote só termina após todas as entregas
+ * - As entregas de um lote rodam em paralelo
+ * - Falhas são repetidas até max-attempts e então enviadas ao tópico de dead-letter, sem interromper o lote
+ * - Se nem o dead-letter puder ser gravado, o lote falha e não tem o offset confirmado
+ * - Registros que não puderam ser decodificados são ignorados
+ */
+class AlertDispatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DeadLetterPublisher deadLetters = mock(DeadLetterPublisher.class);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void dispatch_ShouldDeliverToAcceptingChannelsBeforeReturning() {
+        RecordingChannel webhook = new RecordingChannel("webhook", Set.of(), Duration.ofMillis(20));
+        RecordingChannel sms = new RecordingChannel("sms", Set.of(CRITICAL), Duration.ofMillis(20));
+        AlertDispatcher dispatcher = new AlertDispatcher(List.of(webhook, sms), executor, 3, 0, deadLetters, registry);
+
+        dispatcher.dispatch(List.of(record(0, alert("a1", CRITICAL)), record(1, alert("a2", LOW))));
+
+        assertEquals(Set.of("a1", "a2"), Set.copyOf(webhook.delivered));
+        assertEquals(List.of("a1"), List.copyOf(sms.delivered));
+        assertEquals(2, registry.get("alert.dispatch.delivery").tag("channel", "webhook").timer().count());
+        assertEquals(2.0, registry.get("alert.dispatch.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void dispatch_ShouldRunDeliveriesOfABatchConcurrently() {
+        CountDownLatch allStarted = new CountDownLatch(4);
+        AlertChannel blocking = new AlertChannel() {
+            @Override
+            public String name() {
+                return "webhook";
+            }
+
+            @Override
+            public boolean accepts(Alert alert) {
+                return true;
+            }
+
+            @Override
+            public void deliver(Alert alert) throws InterruptedException {
+                allStarted.countDown();
+                // only returns if the other deliveries are running at the same time
+                if (!allStarted.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("deliveries ran one after another");
+                }
+            }
+        };
+        AlertDispatcher dispatcher = new AlertDispatcher(List.of(blocking), executor, 1, 0, deadLetters, registry);
+
+        dispatcher.dispatch(List.of(record(0, alert("a1", LOW)), record(1, alert("a2", LOW)),
+                record(2, alert("a3", LOW)), record(3, alert("a4", LOW))));
+
+        assertEquals(0, registry.get("alert.dispatch.failed").tag("channel", "webhook").counter().count());
+    }
+
+    @Test
+    void dispatch_ShouldRetryThenDeadLetter_WithoutFailingTheBatch() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        RecordingChannel flaky = new RecordingChannel("email", Set.of(), Duration.ZERO) {
+            @Override
+            public void deliver(Alert alert) throws InterruptedException {
+                if (alert.getId().equals("bad") || calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("provider unavailable");
+                }
+                super.deliver(alert);
+            }
+        };
+        AlertDispatcher dispatcher = new AlertDispatcher(List.of(flaky), executor, 3, 1, deadLetters, registry);
+
+        dispatcher.dispatch(List.of(record(0, alert("good", LOW)), record(1, alert("bad", LOW))));
+
+        assertEquals(List.of("good"), List.copyOf(flaky.delivered));
+        assertEquals(1.0, registry.get("alert.dispatch.failed").tag("channel", "email").counter().count());
+        verify(deadLetters).publish(argThat(record -> record.offset() == 1), eq("email"), any(IllegalStateException.class));
+        verify(deadLetters, times(1)).publish(any(), anyString(), any());
+    }
+
+    @Test
+    void dispatch_ShouldFailTheBatch_WhenDeadLetterCannotBeWritten() throws Exception {
+        AlertChannel down = new StubAlertChannel("sms", Set.of(), Duration.ZERO) {
+            @Override
+            public void deliver(Alert alert) {
+                throw new IllegalStateException("provider unavailable");
+            }
+        };
+        doThrow(new IllegalStateException("broker down")).when(deadLetters).publish(any(), anyString(), any());
+        AlertDispatcher dispatcher = new AlertDispatcher(List.of(down), executor, 2, 0, deadLetters, registry);
+
+        // the listener throws, so the batch's offsets are not committed and the container retries it
+        assertThrows(CompletionException.class, () -> dispatcher.dispatch(List.of(record(0, alert("a1", CRITICAL)))));
+    }
+
+    @Test
+    void dispatch_ShouldSkipUndecodableRecords() {
+        RecordingChannel webhook = new RecordingChannel("webhook", Set.of(), Duration.ZERO);
+        AlertDispatcher dispatcher = new AlertDispatcher(List.of(webhook), executor, 3, 0, deadLetters, registry);
+
+        dispatcher.dispatch(List.of(record(0, null), record(1, alert("a1", LOW))));
+
+        assertEquals(List.of("a1"), List.copyOf(webhook.delivered));
+        assertEquals(1.0, registry.get("alert.dispatch.undecodable").counter().count());
+    }
+
+    private static ConsumerRecord<String, Alert> record(long offset, Alert alert) {
+        return new ConsumerRecord<>("alerts", 0, offset, alert == null ? null : alert.getId(), alert);
+    }
+
+    private static Alert alert(String id, Severity severity) {
+        return Alert.builder().id(id).clientId("client-1").alertType("SYSTEM").message("Disk full").severity(severity).build();
+    }
+
+    private static class RecordingChannel extends StubAlertChannel {
+
+        final Queue<String> delivered = new ConcurrentLinkedQueue<>();
+
+        RecordingChannel(String name, Set<Severity> severities, Duration latency) {
+            super(name, severities, latency);
+        }
+
+        @Override
+        public void deliver(Alert alert) throws InterruptedException {
+            super.deliver(alert);
+            delivered.add(alert.getId());
+        }
+    }
+}
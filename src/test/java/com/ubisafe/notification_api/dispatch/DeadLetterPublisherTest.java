@@ -0,0 +1,75 @@
+package com.ubisafe.notification_api.dispatch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ubisafe.notification_api.codec.AlertPayloadDeserializer;
+import com.ubisafe.notification_api.codec.JsonAlertCodec;
+import com.ubisafe.notification_api.domain.Alert;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static com.ubisafe.notification_api.domain.Severity.CRITICAL;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o {@link DeadLetterPublisher}:
+ * - O alerta vai para {@code <tópico>.dlt} com a mesma chave, o canal e a origem nos headers
+ * - A chamada só retorna após o ack do broker e falha quando ele não vem
+ */
+class DeadLetterPublisherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> template = mock(KafkaTemplate.class);
+
+    private final DeadLetterPublisher publisher =
+            new DeadLetterPublisher(template, new JsonAlertCodec(objectMapper), ".dlt", 1_000);
+
+    private final Alert alert = Alert.builder().id("a1").clientId("client-1").alertType("SYSTEM")
+            .message("Disk full").severity(CRITICAL).build();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_ShouldWriteAlertWithChannelAndOriginHeaders() throws Exception {
+        when(template.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        publisher.publish(new ConsumerRecord<>("alerts", 2, 42L, "a1", alert), "sms", new IllegalStateException("provider down"));
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(template).send(sent.capture());
+        ProducerRecord<String, byte[]> record = sent.getValue();
+        assertEquals("alerts.dlt", record.topic());
+        assertEquals("a1", record.key());
+        assertEquals(alert, new AlertPayloadDeserializer(objectMapper).deserialize(record.topic(), record.value()));
+        assertEquals("sms", header(record, DeadLetterPublisher.CHANNEL_HEADER));
+        assertEquals("alerts", header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC));
+        assertEquals(42L, ByteBuffer.wrap(record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong());
+        assertEquals("provider down", header(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_ShouldThrow_WhenBrokerRejectsDeadLetter() {
+        when(template.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThrows(ExecutionException.class, () ->
+                publisher.publish(new ConsumerRecord<>("alerts", 0, 1L, "a1", alert), "sms", new IllegalStateException("x")));
+    }
+
+    private static String header(ProducerRecord<String, byte[]> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.domain.Alert;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static com.ubisafe.notification_api.domain.Severity.HIGH;
+import static com.ubisafe.notification_api.domain.Severity.LOW;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link AlertHasher} e o {@link Murmur3Hash128}:
+ * - Vetores conhecidos do MurmurHash3 x64 128
+ * - Codificação UTF-8 em streaming
+ * - Modo legado compatível com o ID UUID/MD5 original
+ */
+class AlertHasherTest {
+
+    private final Alert alert = Alert.builder()
+            .clientId("client-id-123")
+            .alertType("SYSTEM")
+            .message("Test alert message")
+            .severity(HIGH)
+            .build();
+
+    @Test
+    void murmur3_ShouldMatchReferenceVectors() {
+        Murmur3Hash128 hasher = new Murmur3Hash128();
+
+        hasher.reset().putUtf8("The quick brown fox jumps over the lazy dog").finish();
+        assertEquals(0xe34bbc7bbc071b6cL, hasher.high());
+        assertEquals(0x7a433ca9c49a9347L, hasher.low());
+
+        hasher.reset().putUtf8("hello").finish();
+        assertEquals(0xcbd8a7b341bd9b02L, hasher.high());
+        assertEquals(0x5b1e906a48ae1d19L, hasher.low());
+
+        hasher.reset().finish();
+        assertEquals(0L, hasher.high());
+        assertEquals(0L, hasher.low());
+    }
+
+    @Test
+    void murmur3_ShouldEncodeUtf8LikeStringGetBytes() {
+        String text = "ação ✓ 😀";
+        Murmur3Hash128 streamed = new Murmur3Hash128().putUtf8(text).finish();
+        Murmur3Hash128 bytes = new Murmur3Hash128();
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            bytes.putByte(b);
+        }
+        bytes.finish();
+
+        assertEquals(bytes.high(), streamed.high());
+        assertEquals(bytes.low(), streamed.low());
+        assertEquals(0xdd1de034ef4c831dL, streamed.high());
+    }
+
+    @Test
+    void hash_ShouldProduceStableUuidFormattedId_InMurmur3Mode() {
+        AlertHasher hasher = new AlertHasher(AlertHasher.MURMUR3);
+
+        String id = hasher.hash(alert);
+
+        assertEquals("10c465b5-7ab7-4740-c6ad-217a1b9c3030", id);
+        assertEquals(id, UUID.fromString(id).toString());
+        assertEquals(id, hasher.hash(alert));
+    }
+
+    @Test
+    void hash_ShouldDistinguishFieldBoundariesAndSeverity() {
+        AlertHasher hasher = new AlertHasher(AlertHasher.MURMUR3);
+        Alert shifted = Alert.builder().clientId("client-id-123S").alertType("YSTEM")
+                .message("Test alert message").severity(HIGH).build();
+        Alert lower = Alert.builder().clientId("client-id-123").alertType("SYSTEM")
+                .message("Test alert message").severity(LOW).build();
+
+        assertNotEquals(hasher.hash(alert), hasher.hash(shifted));
+        assertNotEquals(hasher.hash(alert), hasher.hash(lower));
+    }
+
+    @Test
+    void hash_ShouldMatchOriginalMd5Uuid_InLegacyMode() {
+        AlertHasher hasher = new AlertHasher(AlertHasher.LEGACY);
+        String expected = UUID.nameUUIDFromBytes(
+                "client-id-123:SYSTEM:Test alert message:HIGH".getBytes(StandardCharsets.UTF_8)).toString();
+
+        assertEquals(expected, hasher.hash(alert));
+    }
+
+    @Test
+    void constructor_ShouldRejectUnknownAlgorithm() {
+        assertThrows(IllegalArgumentException.class, () -> new AlertHasher("sha1"));
+    }
+}
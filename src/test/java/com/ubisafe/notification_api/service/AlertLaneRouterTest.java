@@ -0,0 +1,73 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.config.PartitioningStrategy;
+import com.ubisafe.notification_api.domain.Alert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.ubisafe.notification_api.domain.Severity.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes unitários para o {@link AlertLaneRouter}:
+ * - Severidades mapeadas usam a faixa configurada
+ * - Severidades sem mapeamento (ou nulas) caem na faixa padrão
+ * - Chave do registro segue a estratégia de particionamento
+ */
+class AlertLaneRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void laneFor_ShouldRouteMappedSeveritiesAndFallBackToDefault() {
+        AlertLane defaultLane = new AlertLane("default", "alerts", mock(KafkaTemplate.class),
+                AlertLaneRouter.ackTimer("default", registry));
+        AlertLane critical = new AlertLane("critical", "alerts.critical", mock(KafkaTemplate.class),
+                AlertLaneRouter.ackTimer("critical", registry));
+        AlertLane bulk = new AlertLane("bulk", "alerts.bulk", mock(KafkaTemplate.class),
+                AlertLaneRouter.ackTimer("bulk", registry));
+
+        AlertLaneRouter router = new AlertLaneRouter(defaultLane,
+                Map.of(CRITICAL, critical, HIGH, critical, LOW, bulk), List.of());
+
+        assertSame(critical, router.laneFor(CRITICAL));
+        assertSame(critical, router.laneFor(HIGH));
+        assertSame(bulk, router.laneFor(LOW));
+        assertSame(defaultLane, router.laneFor(MEDIUM));
+        assertSame(defaultLane, router.laneFor(null));
+        assertEquals(3, router.lanes().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void single_ShouldPutEverySeverityOnOneLane() {
+        KafkaTemplate<String, byte[]> template = mock(KafkaTemplate.class);
+
+        AlertLaneRouter router = AlertLaneRouter.single(template, "alerts", registry);
+
+        for (var severity : values()) {
+            assertSame(template, router.laneFor(severity).template());
+            assertEquals("alerts", router.laneFor(severity).topic());
+        }
+        assertNotNull(registry.find("alert.lane.ack.latency").tag("lane", "default").timer());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordKey_ShouldFollowPartitioningStrategy() {
+        KafkaTemplate<String, byte[]> template = mock(KafkaTemplate.class);
+        Alert alert = Alert.builder().id("content-hash").clientId("client-1").build();
+
+        assertEquals("content-hash", AlertLaneRouter.single(template, "alerts", registry).recordKey(alert));
+        assertEquals("client-1", AlertLaneRouter.single(template, "alerts", registry,
+                PartitioningStrategy.fromKey("client")::recordKey).recordKey(alert));
+        assertEquals("client-1", AlertLaneRouter.single(template, "alerts", registry,
+                PartitioningStrategy.fromKey("HOT-KEY")::recordKey).recordKey(alert));
+    }
+}
@@ -0,0 +1,115 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.internals.BuiltInPartitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link AlertPartitioner} e o {@link PartitionSkewMonitor}:
+ * - Chaves vão para a mesma partição que o particionador padrão do Kafka escolheria
+ * - Chaves quentes são espalhadas por um conjunto limitado de partições
+ * - Métrica de desbalanceamento por tópico
+ */
+class AlertPartitionerTest {
+
+    private static final String TOPIC = "alerts";
+    private static final int PARTITIONS = 12;
+
+    private Cluster cluster;
+    private SimpleMeterRegistry registry;
+    private PartitionSkewMonitor skewMonitor;
+
+    @BeforeEach
+    void setUp() {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new PartitionInfo(TOPIC, i, node, new Node[]{node}, new Node[]{node}));
+        }
+        cluster = new Cluster("cluster", List.of(node), partitions, Set.of(), Set.of());
+        registry = new SimpleMeterRegistry();
+        skewMonitor = new PartitionSkewMonitor(registry, 0);
+    }
+
+    @Test
+    void partition_ShouldMatchKafkaDefault_WhenHotKeyDisabled() {
+        AlertPartitioner partitioner = partitioner(false);
+
+        for (int i = 0; i < 100; i++) {
+            byte[] key = ("client-" + i).getBytes(StandardCharsets.UTF_8);
+            assertEquals(BuiltInPartitioner.partitionForKey(key, PARTITIONS), partition(partitioner, "client-" + i));
+        }
+    }
+
+    @Test
+    void partition_ShouldSpreadHotKeyOverBoundedPartitions_AndKeepColdKeysHome() {
+        AlertPartitioner partitioner = partitioner(true);
+        int home = BuiltInPartitioner.partitionForKey("heavy".getBytes(StandardCharsets.UTF_8), PARTITIONS);
+        int coldHome = BuiltInPartitioner.partitionForKey("light".getBytes(StandardCharsets.UTF_8), PARTITIONS);
+
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            used.add(partition(partitioner, "heavy"));
+        }
+        assertEquals(Set.of(home, (home + 1) % PARTITIONS, (home + 2) % PARTITIONS), used);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(coldHome, partition(partitioner, "light"));
+        }
+    }
+
+    @Test
+    void skew_ShouldReportBusiestPartitionOverMean() {
+        AlertPartitioner partitioner = partitioner(false);
+        for (int i = 0; i < 10; i++) {
+            partition(partitioner, "single-client");
+        }
+
+        assertEquals(PARTITIONS, registry.get("alert.partition.records").tag("topic", TOPIC).counters().size());
+        assertTrue(Double.isNaN(skewMonitor.skew(TOPIC)), "Nenhuma janela fechada ainda");
+        skewMonitor.tick();
+        assertEquals(PARTITIONS, registry.get("alert.partition.skew").tag("topic", TOPIC).gauge().value(), 1e-9);
+        assertEquals(PARTITIONS, registry.get("alert.partition.skew").tag("topic", TOPIC).gauge().value(), 1e-9,
+                "Leituras repetidas não alteram a janela");
+
+        skewMonitor.tick();
+        assertTrue(Double.isNaN(skewMonitor.skew(TOPIC)), "Sem tráfego na última janela");
+
+        for (int i = 0; i < PARTITIONS * 10; i++) {
+            partition(partitioner, "client-" + i);
+        }
+        skewMonitor.tick();
+        double skew = skewMonitor.skew(TOPIC);
+        assertTrue(skew >= 1.0 && skew < 3.0, "Chaves distintas devem se distribuir: " + skew);
+    }
+
+    private AlertPartitioner partitioner(boolean hotKey) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(AlertPartitioner.HOT_KEY_ENABLED, hotKey);
+        configs.put(AlertPartitioner.HOT_KEY_THRESHOLD, 10L);
+        configs.put(AlertPartitioner.HOT_KEY_WINDOW_MS, 60_000L);
+        configs.put(AlertPartitioner.HOT_KEY_SPREAD, 3);
+        configs.put(AlertPartitioner.SKEW_MONITOR, skewMonitor);
+        AlertPartitioner partitioner = new AlertPartitioner();
+        partitioner.configure(configs);
+        return partitioner;
+    }
+
+    private int partition(AlertPartitioner partitioner, String key) {
+        return partitioner.partition(TOPIC, key, key.getBytes(StandardCharsets.UTF_8), null, null, cluster);
+    }
+}
@@ -3,19 +3,32 @@ package com.ubisafe.notification_api.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ubisafe.notification_api.codec.JsonAlertCodec;
+import com.ubisafe.notification_api.config.RateLimitProperties;
 import com.ubisafe.notification_api.domain.Alert;
 import com.ubisafe.notification_api.exception.AlertPublishException;
+import com.ubisafe.notification_api.exception.PublishBackpressureException;
+import com.ubisafe.notification_api.exception.RateLimitExceededException;
+import com.ubisafe.notification_api.spill.SpillLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static com.ubisafe.notification_api.domain.Severity.HIGH;
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,22 +45,42 @@ import static org.mockito.Mockito.*;
 class AlertServiceTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Mock
     private DeduplicationService deduplicationService;
 
+    @Mock
+    private DuplicateAggregator duplicateAggregator;
+
     private AlertService alertService;
 
     private Alert testAlert;
 
     private ObjectMapper objectMapper;
 
+    private InFlightTracker inFlightTracker;
+
+    private SpillLog spillLog;
+
+    private ClientRateLimiter rateLimiter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RecentAlertStore recentAlerts;
+
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        alertService = new AlertService(kafkaTemplate, objectMapper, deduplicationService);
+        inFlightTracker = new InFlightTracker(100, 1, new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        spillLog = SpillLog.disabled();
+        recentAlerts = new RecentAlertStore(100, 512, new SimpleMeterRegistry());
+        rateLimiter = new ClientRateLimiter(new RateLimitProperties(), (key, limit, requested) -> {
+            throw new IllegalStateException("rate limiting disabled");
+        }, new SimpleMeterRegistry());
+        alertService = createService(objectMapper);
         testAlert = Alert.builder()
                 .alertType("SYSTEM")
                 .clientId("client-id-123")
@@ -57,6 +90,20 @@ class AlertServiceTest {
                 .build();
     }
 
+    private AlertService createService(ObjectMapper mapper) {
+        return new AlertService(
+                AlertLaneRouter.single(kafkaTemplate, "alerts", new SimpleMeterRegistry()),
+                new JsonAlertCodec(mapper),
+                deduplicationService,
+                new AlertHasher(AlertHasher.LEGACY),
+                inFlightTracker,
+                spillLog,
+                rateLimiter,
+                new AlertMetrics(meterRegistry),
+                duplicateAggregator,
+                recentAlerts);
+    }
+
     private String expectedDeterministicId(Alert alert) {
         String content = String.format("%s:%s:%s:%s", alert.getClientId(), alert.getAlertType(), alert.getMessage(), alert.getSeverity());
         return UUID.nameUUIDFromBytes(content.getBytes(StandardCharsets.UTF_8)).toString();
@@ -65,7 +112,7 @@ class AlertServiceTest {
     @Test
     void publishAlert_ShouldGenerateDeterministicIdAndTimestamp_WhenNotDuplicate() {
         when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
-        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
 
         Map<String, String> result = alertService.publishAlert(testAlert);
 
@@ -73,14 +120,14 @@ class AlertServiceTest {
         assertEquals(expectedId, result.get("id"));
         assertEquals("ACCEPTED", result.get("status"));
         assertNotNull(testAlert.getTimestamp(), "Timestamp deve ser preenchido se ausente");
-        verify(kafkaTemplate, times(1)).send(eq("alerts"), eq(expectedId), anyString());
+        verify(kafkaTemplate, times(1)).send(eq("alerts"), eq(expectedId), any(byte[].class));
     }
 
     @Test
     void publishAlert_ShouldIgnoreProvidedIdAndUseDeterministic_WhenIdPresent() {
         testAlert.setId("id-manual-invalido");
         when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
-        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
 
         Map<String, String> result = alertService.publishAlert(testAlert);
         String expectedId = expectedDeterministicId(testAlert);
@@ -92,10 +139,10 @@ class AlertServiceTest {
     @Test
     void publishAlert_ShouldSendToKafka_WhenNotDuplicate() {
         when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
-        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
 
         alertService.publishAlert(testAlert);
-        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), anyString());
+        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), any(byte[].class));
     }
 
     @Test
@@ -107,36 +154,56 @@ class AlertServiceTest {
         assertEquals("ACCEPTED", result.get("status"));
         assertEquals("Duplicate alert detected within window; not republished", result.get("message"));
         assertNull(testAlert.getTimestamp(), "Timestamp não deve ser preenchido se pular publicação por duplicidade");
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+        verify(duplicateAggregator).record(testAlert);
     }
 
     @Test
     void publishAlert_ShouldReturnDuplicateOnSecondCallSequentially() {
         when(deduplicationService.isDuplicate(anyString())).thenReturn(false, true); // primeira false, segunda true
-        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
 
         Map<String, String> first = alertService.publishAlert(testAlert);
         Map<String, String> second = alertService.publishAlert(testAlert);
 
-        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), anyString());
+        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), any(byte[].class));
+    }
+
+    @Test
+    void publishAlert_ShouldRecordStageTimersAndSeverityCounters() {
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false, true);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker timeout")));
+
+        alertService.publishAlert(testAlert);
+        alertService.publishAlert(testAlert);
+
+        for (String stage : List.of("hash", "rate_limit", "dedup")) {
+            assertEquals(2, meterRegistry.get("alert.publish.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertEquals(1, meterRegistry.get("alert.publish.stage").tag("stage", "serialize").timer().count());
+        assertEquals(1, meterRegistry.get("alert.publish.stage").tag("stage", "send").timer().count());
+        assertEquals(1, meterRegistry.get("alert.publish.duplicates").tag("severity", "HIGH").counter().count());
+        assertEquals(1, meterRegistry.get("alert.publish.send.failures")
+                .tags("severity", "HIGH", "phase", "async").counter().count());
     }
 
     @Test
     void publishAlert_ShouldThrowAlertPublishException_OnSerializationFailure() throws Exception {
         ObjectMapper spyMapper = spy(objectMapper);
-        alertService = new AlertService(kafkaTemplate, spyMapper, deduplicationService);
+        alertService = createService(spyMapper);
         when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
-        doThrow(new JsonProcessingException("boom") { }).when(spyMapper).writeValueAsString(any());
+        doThrow(new JsonProcessingException("boom") { }).when(spyMapper).writeValueAsBytes(any());
 
         AlertPublishException ex = assertThrows(AlertPublishException.class, () -> alertService.publishAlert(testAlert));
         assertTrue(ex.getMessage().contains("Failed to serialize alert"));
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
     }
 
     @Test
     void publishAlert_ShouldReturnMapEvenIfKafkaSendFails() {
         when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
-        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenThrow(new RuntimeException("Kafka down"));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenThrow(new RuntimeException("Kafka down"));
 
         Map<String, String> result = alertService.publishAlert(testAlert);
         assertEquals("ACCEPTED", result.get("status"));
@@ -144,18 +211,292 @@ class AlertServiceTest {
         assertEquals("true", result.get("kafkaError"));
         assertNotNull(result.get("id"));
         assertNotNull(testAlert.getTimestamp());
-        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), anyString());
+        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), any(byte[].class));
+        assertNull(result.get("spilled"));
+    }
+
+    @Test
+    void publishAlert_ShouldSpillPayload_WhenKafkaSendFailsAndSpillEnabled() {
+        spillLog = mock(SpillLog.class);
+        when(spillLog.isEnabled()).thenReturn(true);
+        when(spillLog.append(anyString(), anyString(), any(byte[].class))).thenReturn(true);
+        alertService = createService(objectMapper);
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenThrow(new RuntimeException("Kafka down"));
+
+        Map<String, String> result = alertService.publishAlert(testAlert);
+
+        assertEquals("Alert accepted but Kafka publish failed", result.get("message"));
+        assertEquals("true", result.get("kafkaError"));
+        assertEquals("true", result.get("spilled"));
+        verify(spillLog).append(eq("alerts"), eq(expectedDeterministicId(testAlert)), any(byte[].class));
+        assertEquals(0, inFlightTracker.inFlight());
+    }
+
+    @Test
+    void publishAlert_ShouldSpillPayload_WhenKafkaAckFails() {
+        spillLog = mock(SpillLog.class);
+        when(spillLog.isEnabled()).thenReturn(true);
+        alertService = createService(objectMapper);
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker timeout")));
+
+        Map<String, String> result = alertService.publishAlert(testAlert);
+
+        assertEquals("Alert received and queued for processing", result.get("message"));
+        verify(spillLog).append(eq("alerts"), eq(expectedDeterministicId(testAlert)), any(byte[].class));
+    }
+
+    @Test
+    void publishAlert_ShouldThrowRateLimitExceeded_WhenClientOverQuota() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        rateLimiter = new ClientRateLimiter(properties,
+                (key, limit, requested) -> new ClientRateLimiter.TokenLease(0, 0, 1500), new SimpleMeterRegistry());
+        alertService = createService(objectMapper);
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, () -> alertService.publishAlert(testAlert));
+
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(200, ex.getLimit());
+        verifyNoInteractions(deduplicationService, kafkaTemplate);
+        assertEquals(0, inFlightTracker.inFlight());
     }
 
     @Test
     void publishAlert_ShouldNotContainKafkaError_WhenSendSucceeds() {
         when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
-        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
 
         Map<String, String> result = alertService.publishAlert(testAlert);
         assertEquals("ACCEPTED", result.get("status"));
         assertEquals("Alert received and queued for processing", result.get("message"));
         assertFalse(result.containsKey("kafkaError"));
-        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), anyString());
+        verify(kafkaTemplate, times(1)).send(eq("alerts"), anyString(), any(byte[].class));
+    }
+
+    @Test
+    void publishAlerts_ShouldDedupWholeBatchOnceAndSendOnlyNonDuplicates() {
+        Alert second = Alert.builder()
+                .alertType("SYSTEM")
+                .clientId("client-id-456")
+                .message("Another alert")
+                .severity(HIGH)
+                .build();
+        when(deduplicationService.areDuplicates(anyList())).thenReturn(List.of(false, true));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        List<Map<String, String>> results = alertService.publishAlerts(List.of(testAlert, second), Duration.ofSeconds(5));
+
+        assertEquals(2, results.size());
+        assertEquals(expectedDeterministicId(testAlert), results.get(0).get("id"));
+        assertEquals("false", results.get(0).get("duplicate"));
+        assertEquals(expectedDeterministicId(second), results.get(1).get("id"));
+        assertEquals("true", results.get(1).get("duplicate"));
+        verify(deduplicationService, times(1)).areDuplicates(List.of(expectedDeterministicId(testAlert), expectedDeterministicId(second)));
+        verify(deduplicationService, never()).isDuplicate(anyString());
+        verify(kafkaTemplate, times(1)).send(eq("alerts"), eq(expectedDeterministicId(testAlert)), any(byte[].class));
+        verify(kafkaTemplate, never()).send(eq("alerts"), eq(expectedDeterministicId(second)), any(byte[].class));
+    }
+
+    @Test
+    void publishAlertAsync_ShouldCompleteWithResult_WhenNotDuplicate() throws Exception {
+        when(deduplicationService.isDuplicateAsync(anyString())).thenReturn(CompletableFuture.completedFuture(false));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        Map<String, String> result = alertService.publishAlertAsync(testAlert, Runnable::run).get();
+
+        assertEquals(expectedDeterministicId(testAlert), result.get("id"));
+        assertEquals("false", result.get("duplicate"));
+        verify(deduplicationService, never()).isDuplicate(anyString());
+        verify(kafkaTemplate, times(1)).send(eq("alerts"), eq(expectedDeterministicId(testAlert)), any(byte[].class));
+    }
+
+    @Test
+    void publishAlertAsync_ShouldSkipKafkaSend_WhenDuplicate() throws Exception {
+        when(deduplicationService.isDuplicateAsync(anyString())).thenReturn(CompletableFuture.completedFuture(true));
+
+        Map<String, String> result = alertService.publishAlertAsync(testAlert, Runnable::run).get();
+
+        assertEquals("true", result.get("duplicate"));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+    }
+
+    @Test
+    void publishAlert_ShouldReleasePermit_WhenKafkaAcknowledges() {
+        CompletableFuture<SendResult<String, byte[]>> ack = new CompletableFuture<>();
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(ack);
+
+        alertService.publishAlert(testAlert);
+        assertEquals(1, inFlightTracker.inFlight());
+
+        ack.completeExceptionally(new RuntimeException("broker gone"));
+        assertEquals(0, inFlightTracker.inFlight());
+    }
+
+    @Test
+    void publishAlert_ShouldReleasePermit_OnDuplicateAndImmediateFailure() {
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(true, false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenThrow(new RuntimeException("Kafka down"));
+
+        alertService.publishAlert(testAlert);
+        alertService.publishAlert(testAlert);
+
+        assertEquals(0, inFlightTracker.inFlight());
+    }
+
+    @Test
+    void publishAlert_ShouldRejectWithoutDedup_WhenInFlightLimitReached() {
+        inFlightTracker = new InFlightTracker(1, 3, new SimpleMeterRegistry());
+        alertService = createService(objectMapper);
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        alertService.publishAlert(testAlert);
+        PublishBackpressureException ex = assertThrows(PublishBackpressureException.class,
+                () -> alertService.publishAlert(testAlert));
+
+        assertEquals(3, ex.getRetryAfterSeconds());
+        verify(deduplicationService, times(1)).isDuplicate(anyString());
+    }
+
+    @Test
+    void publishAlert_ShouldNotSpillOrReportKafkaError_WhenRecentAlertStoreFails() {
+        spillLog = mock(SpillLog.class);
+        recentAlerts = mock(RecentAlertStore.class);
+        doThrow(new IllegalStateException("store broken")).when(recentAlerts).record(any(Alert.class));
+        alertService = createService(objectMapper);
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        Map<String, String> result = alertService.publishAlert(testAlert);
+
+        assertEquals("Alert received and queued for processing", result.get("message"));
+        assertNull(result.get("kafkaError"));
+        verify(spillLog, never()).append(anyString(), anyString(), any(byte[].class));
+        assertEquals(1, inFlightTracker.inFlight(), "Permissão segue com o envio pendente");
+    }
+
+    @Test
+    void publishAlerts_ShouldReleaseEveryPermit_WhenEncodingFailsMidBatch() throws Exception {
+        ObjectMapper spyMapper = spy(objectMapper);
+        alertService = createService(spyMapper);
+        Alert second = Alert.builder().alertType("SYSTEM").clientId("client-id-456")
+                .message("Another alert").severity(HIGH).build();
+        Alert third = Alert.builder().alertType("SYSTEM").clientId("client-id-789")
+                .message("Third alert").severity(HIGH).build();
+        when(deduplicationService.areDuplicates(anyList())).thenReturn(List.of(false, false, false));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        doCallRealMethod().doThrow(new JsonProcessingException("boom") { }).when(spyMapper).writeValueAsBytes(any());
+
+        assertThrows(AlertPublishException.class, () -> alertService.publishAlerts(List.of(testAlert, second, third), Duration.ofSeconds(5)));
+
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(byte[].class));
+        assertEquals(0, inFlightTracker.inFlight());
+    }
+
+    @Test
+    void publishAlerts_ShouldReleaseEveryPermit_WhenDedupFails() {
+        when(deduplicationService.areDuplicates(anyList())).thenThrow(new CompletionException(
+                new IllegalStateException("shard check failed")));
+
+        assertThrows(CompletionException.class, () -> alertService.publishAlerts(List.of(testAlert), Duration.ofSeconds(5)));
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+        assertEquals(0, inFlightTracker.inFlight());
+    }
+
+    @Test
+    void publishAlerts_ShouldRejectAlertsBeyondCapacityWithoutDedup() {
+        inFlightTracker = new InFlightTracker(1, 1, new SimpleMeterRegistry());
+        alertService = createService(objectMapper);
+        Alert second = Alert.builder().alertType("SYSTEM").clientId("client-id-456")
+                .message("Another alert").severity(HIGH).build();
+        when(deduplicationService.areDuplicates(anyList())).thenReturn(List.of(false));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        List<Map<String, String>> results = alertService.publishAlerts(List.of(testAlert, second), Duration.ofSeconds(5));
+
+        assertEquals("ACCEPTED", results.get(0).get("status"));
+        assertEquals("REJECTED", results.get(1).get("status"));
+        assertEquals("1", results.get(1).get("retryAfterSeconds"));
+        verify(deduplicationService).areDuplicates(List.of(expectedDeterministicId(testAlert)));
+    }
+
+    @Test
+    void publishAlertConfirmed_ShouldCompleteWithPartitionAndOffset_WhenKafkaAcknowledges() throws Exception {
+        CompletableFuture<SendResult<String, byte[]>> ack = new CompletableFuture<>();
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(ack);
+
+        CompletableFuture<Map<String, String>> confirmation = alertService.publishAlertConfirmed(testAlert, Duration.ofSeconds(5));
+        assertFalse(confirmation.isDone());
+
+        ack.complete(new SendResult<>(new ProducerRecord<>("alerts", new byte[0]),
+                new RecordMetadata(new TopicPartition("alerts", 2), 41, 0, 0, 0, 0)));
+        Map<String, String> result = confirmation.get();
+
+        assertEquals("true", result.get("acknowledged"));
+        assertEquals("2", result.get("partition"));
+        assertEquals("41", result.get("offset"));
+    }
+
+    @Test
+    void publishAlertConfirmed_ShouldReturnUnacknowledged_WhenKafkaAckTimesOut() throws Exception {
+        when(deduplicationService.isDuplicate(anyString())).thenReturn(false);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        Map<String, String> result = alertService.publishAlertConfirmed(testAlert, Duration.ofMillis(10)).get();
+
+        assertEquals("ACCEPTED", result.get("status"));
+        assertEquals("false", result.get("acknowledged"));
+        assertEquals(1, inFlightTracker.inFlight());
+    }
+
+    @Test
+    void publishAlertAsyncConfirmed_ShouldCompleteImmediately_WhenDuplicate() throws Exception {
+        when(deduplicationService.isDuplicateAsync(anyString())).thenReturn(CompletableFuture.completedFuture(true));
+
+        Map<String, String> result = alertService.publishAlertAsyncConfirmed(testAlert, Runnable::run, Duration.ofSeconds(5)).get();
+
+        assertEquals("true", result.get("duplicate"));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+    }
+
+    @Test
+    void publishAlerts_ShouldReportCommittedResults_WhenTransactional() {
+        TransactionalAlertPublisher transactions = mock(TransactionalAlertPublisher.class);
+        when(transactions.send(eq("alerts"), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(
+                new SendResult<>(new ProducerRecord<>("alerts", new byte[0]),
+                        new RecordMetadata(new TopicPartition("alerts", 1), 7, 0, 0, 0, 0))));
+        alertService = new AlertService(
+                AlertLaneRouter.single(kafkaTemplate, "alerts", new SimpleMeterRegistry(), Alert::getId, transactions),
+                new JsonAlertCodec(objectMapper), deduplicationService, new AlertHasher(AlertHasher.LEGACY),
+                inFlightTracker, spillLog, rateLimiter, new AlertMetrics(meterRegistry), duplicateAggregator, recentAlerts);
+        when(deduplicationService.areDuplicates(anyList())).thenReturn(List.of(false));
+
+        List<Map<String, String>> results = alertService.publishAlerts(List.of(testAlert), Duration.ofSeconds(5));
+
+        assertEquals("true", results.get(0).get("acknowledged"));
+        assertEquals("7", results.get(0).get("offset"));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+    }
+
+    @Test
+    void publishAlerts_ShouldStopWaiting_WhenTransactionDoesNotCommitInTime() {
+        TransactionalAlertPublisher transactions = mock(TransactionalAlertPublisher.class);
+        when(transactions.send(eq("alerts"), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+        alertService = new AlertService(
+                AlertLaneRouter.single(kafkaTemplate, "alerts", new SimpleMeterRegistry(), Alert::getId, transactions),
+                new JsonAlertCodec(objectMapper), deduplicationService, new AlertHasher(AlertHasher.LEGACY),
+                inFlightTracker, spillLog, rateLimiter, new AlertMetrics(meterRegistry), duplicateAggregator, recentAlerts);
+        when(deduplicationService.areDuplicates(anyList())).thenReturn(List.of(false));
+
+        List<Map<String, String>> results = alertService.publishAlerts(List.of(testAlert), Duration.ofMillis(50));
+
+        assertEquals("false", results.get(0).get("acknowledged"));
+        assertEquals("ACCEPTED", results.get(0).get("status"));
     }
 }
@@ -0,0 +1,188 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ubisafe.notification_api.domain.Severity.CRITICAL;
+import static com.ubisafe.notification_api.domain.Severity.LOW;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link ClientRateLimiter}:
+ * - Tokens arrendados são consumidos localmente, sem ida ao Redis
+ * - Recusa do Redis é lembrada até o Retry-After
+ * - Limites por cliente e por severidade
+ * - Falha no Redis não bloqueia a ingestão e é lembrada por um TTL de lease
+ * - Um único lease em voo por bucket
+ */
+class ClientRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> leaseCalls = new ArrayList<>();
+    private RateLimitProperties properties;
+    private long bucketTokens;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setLeaseSize(5);
+        bucketTokens = 12;
+    }
+
+    private ClientRateLimiter limiter() {
+        return new ClientRateLimiter(properties, (key, limit, requested) -> {
+            leaseCalls.add(key + "/" + limit.getCapacity() + "/" + requested);
+            long granted = Math.min(requested, bucketTokens);
+            bucketTokens -= granted;
+            return new ClientRateLimiter.TokenLease(granted, bucketTokens, granted == 0 ? 2500 : 0);
+        }, new SimpleMeterRegistry(), clock::get);
+    }
+
+    @Test
+    void tryAcquire_ShouldSpendLeasedTokensLocally() {
+        ClientRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+        }
+
+        assertEquals(1, leaseCalls.size());
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+        assertEquals(2, leaseCalls.size());
+    }
+
+    @Test
+    void tryAcquire_ShouldThrottleUntilRetryAfter_WhenBucketEmpty() {
+        bucketTokens = 2;
+        ClientRateLimiter limiter = limiter();
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+
+        RateLimitDecision decision = limiter.tryAcquire("client-a", LOW);
+        assertFalse(decision.allowed());
+        assertEquals(3, decision.retryAfterSeconds());
+        assertEquals(0, decision.remaining());
+
+        assertFalse(limiter.tryAcquire("client-a", LOW).allowed());
+        assertEquals(2, leaseCalls.size());
+
+        bucketTokens = 1;
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2500));
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldReleaseUnspentLease_AfterTtl() {
+        ClientRateLimiter limiter = limiter();
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(properties.getLeaseTtlMs()));
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+
+        assertEquals(2, leaseCalls.size());
+    }
+
+    @Test
+    void tryAcquire_ShouldApplyMostSpecificLimit() {
+        RateLimitProperties.Limit critical = new RateLimitProperties.Limit();
+        critical.setCapacity(1000);
+        properties.getSeverity().put(CRITICAL, critical);
+        RateLimitProperties.Limit tight = new RateLimitProperties.Limit();
+        tight.setCapacity(3);
+        RateLimitProperties.Client client = new RateLimitProperties.Client();
+        client.getSeverity().put(LOW, tight);
+        properties.getClients().put("noisy", client);
+        ClientRateLimiter limiter = limiter();
+
+        assertEquals(3, limiter.tryAcquire("noisy", LOW).limit());
+        assertEquals(1000, limiter.tryAcquire("noisy", CRITICAL).limit());
+        assertEquals(200, limiter.tryAcquire("quiet", LOW).limit());
+        assertEquals(List.of("noisy:LOW/3/3", "noisy:CRITICAL/1000/5", "quiet:LOW/200/5"), leaseCalls);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllow_WhenRedisFails() {
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, (key, limit, requested) -> {
+            throw new IllegalStateException("redis down");
+        }, new SimpleMeterRegistry(), clock::get);
+
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldCallRedisOncePerTtl_WhenLeasesKeepFailing() {
+        AtomicInteger calls = new AtomicInteger();
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, (key, limit, requested) -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("redis timeout");
+        }, new SimpleMeterRegistry(), clock::get);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+        }
+        assertEquals(1, calls.get());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(properties.getLeaseTtlMs()));
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+        }
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void tryAcquire_ShouldShareOneInFlightLease_PerBucket() throws Exception {
+        CountDownLatch leaseStarted = new CountDownLatch(1);
+        CountDownLatch releaseLease = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, (key, limit, requested) -> {
+            calls.incrementAndGet();
+            leaseStarted.countDown();
+            try {
+                releaseLease.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ClientRateLimiter.TokenLease(requested, 100, 0);
+        }, new SimpleMeterRegistry(), clock::get);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<RateLimitDecision>> decisions = new ArrayList<>();
+            decisions.add(pool.submit(() -> limiter.tryAcquire("client-a", LOW)));
+            assertTrue(leaseStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                decisions.add(pool.submit(() -> limiter.tryAcquire("client-a", LOW)));
+            }
+
+            releaseLease.countDown();
+            for (Future<RateLimitDecision> decision : decisions) {
+                assertTrue(decision.get(5, TimeUnit.SECONDS).allowed());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void tryAcquire_ShouldAlwaysAllow_WhenDisabled() {
+        properties.setEnabled(false);
+        ClientRateLimiter limiter = limiter();
+
+        assertTrue(limiter.tryAcquire("client-a", LOW).allowed());
+        assertTrue(leaseCalls.isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package com.ubisafe.notification_api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link DedupCoalescer}:
+ * - Chamadas concorrentes agrupadas em lotes
+ * - Limite de tamanho do lote
+ * - Resultado posicional entregue a cada chamador
+ * - Falha do lote propagada a todos os chamadores
+ */
+class DedupCoalescerTest {
+
+    private DedupCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+    }
+
+    @Test
+    void submit_ShouldCoalesceConcurrentChecksIntoBoundedBatches() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        coalescer = new DedupCoalescer(ids -> {
+            awaitQuietly(release);
+            batchSizes.add(ids.size());
+            List<Boolean> result = new ArrayList<>();
+            ids.forEach(id -> result.add(id.endsWith("-dup")));
+            return result;
+        }, 50_000, 10);
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(coalescer.submit(i % 2 == 0 ? "id-" + i : "id-" + i + "-dup"));
+        }
+        release.countDown();
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i % 2 != 0, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.size() < 25, "Chamadas deveriam ser agrupadas: " + batchSizes);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    void submit_ShouldDispatchSingleCheckAfterWindow() throws Exception {
+        coalescer = new DedupCoalescer(ids -> Collections.nCopies(ids.size(), false), 200, 128);
+
+        assertFalse(coalescer.submit("only").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_ShouldFailEveryCaller_WhenBatchCheckThrows() {
+        coalescer = new DedupCoalescer(ids -> {
+            throw new IllegalStateException("Redis down");
+        }, 200, 128);
+
+        CompletableFuture<Boolean> future = coalescer.submit("a");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertEquals("Redis down", ex.getCause().getMessage());
+    }
+
+    @Test
+    void submit_ShouldFail_AfterClose() {
+        coalescer = new DedupCoalescer(ids -> Collections.nCopies(ids.size(), false), 200, 128);
+        coalescer.close();
+
+        assertTrue(coalescer.submit("a").isCompletedExceptionally());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes unitários para o {@link DedupShardRouter}:
+ * - Ids são distribuídos de forma equilibrada entre os shards
+ * - Adicionar um shard move apenas a fatia que passa a ser dele
+ * - Verificação em lote devolve as respostas na ordem de entrada
+ */
+class DedupShardRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shardFor_ShouldSpreadIdsEvenly() {
+        DedupShardRouter router = router("a", "b", "c");
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(router.shardFor("alert-" + i).name(), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 8_000 && count < 12_000, "Distribuição: " + counts));
+        router.destroy();
+    }
+
+    @Test
+    void shardFor_ShouldOnlyMoveIdsToNewShard_WhenShardAdded() {
+        DedupShardRouter before = router("a", "b", "c");
+        DedupShardRouter after = router("a", "b", "c", "d");
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String id = "alert-" + i;
+            String from = before.shardFor(id).name();
+            String to = after.shardFor(id).name();
+            if (!from.equals(to)) {
+                assertEquals("d", to);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_500 && moved < 3_500, "Ids movidos: " + moved);
+        before.destroy();
+        after.destroy();
+    }
+
+    @Test
+    void checkAll_ShouldReturnAnswersInInputOrder() {
+        DedupShardRouter router = router("a", "b");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add("alert-" + i);
+        }
+
+        List<Boolean> answers = router.checkAll(ids, (shard, group) ->
+                group.stream().map(id -> shard.name().equals("a")).toList());
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(router.shardFor(ids.get(i)).name().equals("a"), answers.get(i));
+        }
+        router.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private DedupShardRouter router(String... names) {
+        List<DedupShard> shards = new ArrayList<>();
+        for (String name : names) {
+            shards.add(DedupShardRouter.shard(name, mock(RedisTemplate.class), null, registry));
+        }
+        return new DedupShardRouter(shards, 160, List.of());
+    }
+}
@@ -0,0 +1,244 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o {@link DeduplicationService} com Redis mockado:
+ * - Primeira ocorrência vai ao Redis; repetições são respondidas pelo cache local
+ * - Duplicatas apontadas pelo Redis não entram no cache local (a chave pode estar para expirar)
+ * - Verificação em lote via pipeline
+ * - Falha do Redis trata o alerta como novo
+ * - Variante assíncrona via API reativa do Lettuce
+ * - Com shards, falha de um nó degrada apenas a sua fatia das chaves
+ * - Com o disjuntor aberto, deduplicação local sem acessar o Redis
+ */
+@ExtendWith(MockitoExtension.class)
+class DeduplicationServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ReactiveStringRedisTemplate reactiveRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> reactiveValueOperations;
+
+    private DeduplicationService deduplicationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        LocalDedupCache localCache = new LocalDedupCache(true, 1000, 5, new SimpleMeterRegistry(), System::nanoTime);
+        deduplicationService = new DeduplicationService(
+                DedupShardRouter.single(redisTemplate, reactiveRedisTemplate, new SimpleMeterRegistry()), localCache,
+                new AlertMetrics(meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(deduplicationService, "windowSeconds", 5L);
+    }
+
+    @Test
+    void isDuplicate_ShouldAnswerRepeatsLocally_AfterFirstRedisCheck() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("alert:dedup:a"), eq("1"), eq(5L), eq(TimeUnit.SECONDS))).thenReturn(true);
+
+        assertFalse(deduplicationService.isDuplicate("a"));
+        assertTrue(deduplicationService.isDuplicate("a"));
+        assertTrue(deduplicationService.isDuplicate("a"));
+
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void isDuplicate_ShouldAskRedisAgain_WhenRedisReportedDuplicateWhoseKeyMayExpire() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // another node set the key almost a full window ago; it expires between the two checks
+        when(valueOperations.setIfAbsent(eq("alert:dedup:a"), eq("1"), eq(5L), eq(TimeUnit.SECONDS)))
+                .thenReturn(false, true);
+
+        assertTrue(deduplicationService.isDuplicate("a"));
+        assertFalse(deduplicationService.isDuplicate("a"));
+        assertTrue(deduplicationService.isDuplicate("a"));
+
+        verify(valueOperations, times(2)).setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void areDuplicates_ShouldNotCacheDuplicatesReportedByRedis() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(false), List.of(true));
+
+        assertEquals(List.of(true), deduplicationService.areDuplicates(List.of("seen-elsewhere")));
+        assertEquals(List.of(false), deduplicationService.areDuplicates(List.of("seen-elsewhere")));
+        assertEquals(List.of(true), deduplicationService.areDuplicates(List.of("seen-elsewhere")));
+
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void isDuplicate_ShouldReturnFalse_WhenRedisFails() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+                .thenThrow(new RuntimeException("Redis down"));
+
+        assertFalse(deduplicationService.isDuplicate("a"));
+        assertFalse(deduplicationService.isDuplicate("a"));
+        assertEquals(2, meterRegistry.get("alert.dedup.redis.fallbacks").tag("path", "sync").counter().count());
+        assertEquals(2, meterRegistry.get("alert.dedup.stage").tag("stage", "redis").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void areDuplicates_ShouldPipelineOnlyCacheMisses() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        deduplicationService.isDuplicate("cached");
+
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(Arrays.asList(true, false));
+
+        List<Boolean> result = deduplicationService.areDuplicates(List.of("new", "cached", "seen-elsewhere"));
+
+        assertEquals(List.of(false, true, true), result);
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void areDuplicates_ShouldTreatAllAsNew_WhenRedisFails() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("Redis down"));
+
+        assertEquals(List.of(false, false), deduplicationService.areDuplicates(List.of("a", "b")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isDuplicate_ShouldGoThroughPipelinedBatch_WhenCoalescingMode() {
+        ReflectionTestUtils.setField(deduplicationService, "mode", "coalescing");
+        ReflectionTestUtils.setField(deduplicationService, "coalescingWindowMicros", 200L);
+        ReflectionTestUtils.setField(deduplicationService, "coalescingMaxBatchSize", 16);
+        ReflectionTestUtils.setField(deduplicationService, "coalescingTimeoutMs", 2000L);
+        deduplicationService.init();
+        try {
+            when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true));
+
+            assertFalse(deduplicationService.isDuplicate("a"));
+            assertTrue(deduplicationService.isDuplicate("a"));
+
+            verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+            verify(redisTemplate, never()).opsForValue();
+        } finally {
+            deduplicationService.shutdown();
+        }
+    }
+
+    @Test
+    void isDuplicateAsync_ShouldUseReactiveSetIfAbsent_AndCacheResult() throws Exception {
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(reactiveValueOperations);
+        when(reactiveValueOperations.setIfAbsent("alert:dedup:a", "1", Duration.ofSeconds(5))).thenReturn(Mono.just(true));
+
+        assertFalse(deduplicationService.isDuplicateAsync("a").get());
+        assertTrue(deduplicationService.isDuplicateAsync("a").get());
+
+        verify(reactiveValueOperations, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    void isDuplicateAsync_ShouldReturnFalse_WhenRedisFails() throws Exception {
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(reactiveValueOperations);
+        when(reactiveValueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new RuntimeException("Redis down")));
+
+        assertFalse(deduplicationService.isDuplicateAsync("a").get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void areDuplicates_ShouldOnlyDegradeFailingShard_WhenSharded() {
+        RedisTemplate<String, String> healthy = mock(RedisTemplate.class);
+        RedisTemplate<String, String> failing = mock(RedisTemplate.class);
+        DedupShardRouter router = new DedupShardRouter(List.of(
+                DedupShardRouter.shard("healthy", healthy, null, meterRegistry),
+                DedupShardRouter.shard("failing", failing, null, meterRegistry)), 160, List.of());
+        DeduplicationService sharded = new DeduplicationService(router,
+                new LocalDedupCache(false, 1000, 5, new SimpleMeterRegistry(), System::nanoTime), new AlertMetrics(meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(sharded, "windowSeconds", 5L);
+        when(healthy.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> Collections.nCopies(32, false));
+        when(failing.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("Redis down"));
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add("alert-" + i);
+        }
+        List<Boolean> result = sharded.areDuplicates(ids);
+
+        for (int i = 0; i < ids.size(); i++) {
+            boolean onHealthy = router.shardFor(ids.get(i)).name().equals("healthy");
+            assertEquals(onHealthy, result.get(i), "Apenas ids do shard saudável são vistos como duplicados");
+        }
+        assertEquals(1, meterRegistry.get("alert.dedup.shard.failures").tag("shard", "failing").counter().count());
+        assertEquals(0, meterRegistry.get("alert.dedup.shard.failures").tag("shard", "healthy").counter().count());
+        router.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isDuplicate_ShouldDedupLocallyWithoutRedis_WhenBreakerOpen() {
+        ReflectionTestUtils.setField(deduplicationService, "breakerEnabled", true);
+        ReflectionTestUtils.setField(deduplicationService, "breakerSlowCallMs", 100L);
+        ReflectionTestUtils.setField(deduplicationService, "breakerFailureThreshold", 2);
+        ReflectionTestUtils.setField(deduplicationService, "breakerProbeIntervalMs", 60_000L);
+        deduplicationService.init();
+        try {
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+                    .thenThrow(new RuntimeException("Redis down"));
+            assertFalse(deduplicationService.isDuplicate("a"));
+            assertFalse(deduplicationService.isDuplicate("b"));
+
+            assertFalse(deduplicationService.isDuplicate("c"));
+            assertTrue(deduplicationService.isDuplicate("c"));
+            assertEquals(List.of(false, true), deduplicationService.areDuplicates(List.of("d", "d")));
+
+            verify(valueOperations, times(2)).setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+            verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+            assertEquals(3, meterRegistry.get("alert.dedup.degraded.checks").counter().count());
+
+            when(redisTemplate.execute(any(RedisCallback.class))).thenReturn("PONG");
+            deduplicationService.probeOpenBreakers();
+            when(valueOperations.setIfAbsent(eq("alert:dedup:e"), anyString(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+            assertFalse(deduplicationService.isDuplicate("e"));
+            verify(valueOperations, times(3)).setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        } finally {
+            deduplicationService.shutdown();
+        }
+    }
+}
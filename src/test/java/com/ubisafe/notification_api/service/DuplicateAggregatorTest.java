@@ -0,0 +1,191 @@
+package com.ubisafe.notification_api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ubisafe.notification_api.domain.Alert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.ubisafe.notification_api.domain.Severity.HIGH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o {@link DuplicateAggregator} com Redis e Kafka mockados:
+ * - Duplicatas são contadas localmente e mescladas no Redis em uma única chamada por alerta
+ * - Falha do Redis devolve as contagens para a próxima tentativa
+ * - Rollups vencidos são publicados no tópico próprio, com a chave do alerta
+ * - O rollup reivindicado só é apagado após o ack do Kafka; em caso de falha volta para nova tentativa
+ * - O callback do Kafka não chama o Redis; o acerto acontece na thread do agregador
+ * - Desabilitado, não acessa Redis
+ */
+@ExtendWith(MockitoExtension.class)
+class DuplicateAggregatorTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private ObjectMapper objectMapper;
+
+    private DuplicateAggregator aggregator;
+
+    private Alert alert;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        aggregator = new DuplicateAggregator(DedupShardRouter.single(redisTemplate, null, new SimpleMeterRegistry()),
+                kafkaTemplate, objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregator, "enabled", true);
+        ReflectionTestUtils.setField(aggregator, "topic", "alerts.rollups");
+        ReflectionTestUtils.setField(aggregator, "flushIntervalMs", 1000L);
+        ReflectionTestUtils.setField(aggregator, "claimLeaseMs", 150000L);
+        alert = Alert.builder()
+                .id("alert-1")
+                .clientId("client-1")
+                .alertType("SYSTEM")
+                .message("Disk full")
+                .severity(HIGH)
+                .source("node-7")
+                .build();
+    }
+
+    @Test
+    void flush_ShouldMergeLocalCountInOneRedisCall() {
+        List<Object[]> calls = recordMergeCalls();
+
+        aggregator.record(alert);
+        aggregator.record(alert);
+        aggregator.record(alert);
+        aggregator.flush();
+
+        assertEquals(1, calls.size());
+        Object[] call = calls.get(0);
+        assertEquals(List.of("alert:rollup:alert-1", "alert:rollup:due", "alert:dedup:alert-1"), call[1]);
+        assertEquals("alert-1", call[2]);
+        assertEquals("3", call[3]);
+        assertEquals("HIGH", call[8]);
+
+        aggregator.flush();
+        assertEquals(1, calls.size(), "Nada pendente após a mesclagem");
+    }
+
+    @Test
+    void flush_ShouldKeepCounts_WhenRedisFails() {
+        List<Object[]> calls = new ArrayList<>();
+        when(redisTemplate.execute(eq(DuplicateAggregator.MERGE_SCRIPT), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenAnswer(invocation -> {
+                    calls.add(invocation.getArguments());
+                    return 4L;
+                });
+
+        aggregator.record(alert);
+        aggregator.record(alert);
+        aggregator.flush();
+        aggregator.record(alert);
+        aggregator.flush();
+
+        assertEquals(1, calls.size());
+        assertEquals("3", calls.get(0)[3]);
+    }
+
+    @Test
+    void emitDue_ShouldPublishClaimedRollupsToRollupTopic() throws Exception {
+        when(redisTemplate.execute(eq(DuplicateAggregator.CLAIM_SCRIPT), anyList(), any(Object[].class)))
+                .thenReturn(List.of("alert-1", "42", "1700000000000", "1700000004000",
+                        "client-1", "SYSTEM", "HIGH", "Disk full", ""));
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        aggregator.emitDue();
+
+        verify(redisTemplate).execute(eq(DuplicateAggregator.CLAIM_SCRIPT),
+                eq(List.of("alert:rollup:due", "alert:rollup:inflight")),
+                eq("alert:rollup:"), eq("alert:rollup:inflight:"), eq("100"), eq("150000"));
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        verify(kafkaTemplate).send(eq("alerts.rollups"), eq("alert-1"), payload.capture());
+        JsonNode rollup = objectMapper.readTree(payload.getValue());
+        assertEquals(42, rollup.get("count").asLong());
+        assertEquals("client-1", rollup.get("clientId").asText());
+        assertEquals("HIGH", rollup.get("severity").asText());
+        assertTrue(rollup.get("source").isNull());
+        assertTrue(rollup.hasNonNull("firstSeen"));
+        assertTrue(rollup.hasNonNull("lastSeen"));
+    }
+
+    @Test
+    void emitDue_ShouldDeleteClaimedRollupOnlyAfterKafkaAck() {
+        CompletableFuture<SendResult<String, byte[]>> ack = new CompletableFuture<>();
+        when(redisTemplate.execute(eq(DuplicateAggregator.CLAIM_SCRIPT), anyList(), any(Object[].class)))
+                .thenReturn(claimedRollup());
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(ack);
+
+        aggregator.emitDue();
+        verify(redisTemplate, never()).execute(eq(DuplicateAggregator.ACK_SCRIPT), anyList(), any(Object[].class));
+
+        ack.complete(null);
+        verify(redisTemplate, never()).execute(eq(DuplicateAggregator.ACK_SCRIPT), anyList(), any(Object[].class));
+
+        aggregator.settleAnswered();
+        verify(redisTemplate).execute(DuplicateAggregator.ACK_SCRIPT,
+                List.of("alert:rollup:inflight", "alert:rollup:inflight:alert-1"), "alert-1", "1");
+    }
+
+    @Test
+    void emitDue_ShouldReleaseClaimedRollup_WhenKafkaSendFails() {
+        when(redisTemplate.execute(eq(DuplicateAggregator.CLAIM_SCRIPT), anyList(), any(Object[].class)))
+                .thenReturn(claimedRollup());
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        aggregator.emitDue();
+        aggregator.settleAnswered();
+
+        verify(redisTemplate).execute(DuplicateAggregator.ACK_SCRIPT,
+                List.of("alert:rollup:inflight", "alert:rollup:inflight:alert-1"), "alert-1", "0");
+    }
+
+    @Test
+    void record_ShouldDoNothing_WhenDisabled() {
+        ReflectionTestUtils.setField(aggregator, "enabled", false);
+
+        aggregator.record(alert);
+        aggregator.flush();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static List<Object> claimedRollup() {
+        return List.of("alert-1", "42", "1700000000000", "1700000004000", "client-1", "SYSTEM", "HIGH", "Disk full", "");
+    }
+
+    private List<Object[]> recordMergeCalls() {
+        List<Object[]> calls = new ArrayList<>();
+        when(redisTemplate.execute(eq(DuplicateAggregator.MERGE_SCRIPT), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    calls.add(invocation.getArguments());
+                    return 1L;
+                });
+        return calls;
+    }
+}
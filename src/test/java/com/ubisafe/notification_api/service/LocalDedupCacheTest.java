@@ -0,0 +1,82 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link LocalDedupCache}:
+ * - Acerto dentro da janela e expiração após a janela
+ * - Limite de capacidade com remoção do mais antigo
+ * - Contadores de acertos, faltas e remoções
+ */
+class LocalDedupCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void contains_ShouldHitWithinWindowAndMissAfterExpiry() {
+        LocalDedupCache cache = new LocalDedupCache(true, 1000, 5, registry, now::get);
+
+        assertFalse(cache.contains("a"));
+        cache.remember("a");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertTrue(cache.contains("a"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertFalse(cache.contains("a"));
+        assertEquals(0, cache.size());
+
+        assertEquals(1.0, registry.get("alert.dedup.cache.hits").functionCounter().count());
+        assertEquals(2.0, registry.get("alert.dedup.cache.misses").functionCounter().count());
+        assertEquals(1.0, registry.get("alert.dedup.cache.evictions").tag("cause", "expired").functionCounter().count());
+    }
+
+    @Test
+    void remember_ShouldNotExtendExistingEntry() {
+        LocalDedupCache cache = new LocalDedupCache(true, 1000, 5, registry, now::get);
+
+        cache.remember("a");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        cache.remember("a");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+
+        assertFalse(cache.contains("a"));
+    }
+
+    @Test
+    void remember_ShouldEvictOldestEntry_WhenSegmentFull() {
+        // 16 entradas -> capacidade de 1 por segmento
+        LocalDedupCache cache = new LocalDedupCache(true, 16, 5, registry, now::get);
+
+        for (int i = 0; i < 500; i++) {
+            cache.remember("id-" + i);
+        }
+
+        assertTrue(cache.size() <= 16);
+        assertTrue(cache.contains("id-499"));
+        assertEquals(500 - cache.size(),
+                (long) registry.get("alert.dedup.cache.evictions").tag("cause", "size").functionCounter().count());
+    }
+
+    @Test
+    void contains_ShouldAlwaysMiss_WhenDisabled() {
+        LocalDedupCache cache = new LocalDedupCache(false, 1000, 5, registry, now::get);
+
+        cache.remember("a");
+
+        assertFalse(cache.contains("a"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,82 @@
+package com.ubisafe.notification_api.service;
+
+import com.ubisafe.notification_api.domain.Alert;
+import com.ubisafe.notification_api.domain.Severity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.ubisafe.notification_api.domain.Severity.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link RecentAlertStore}:
+ * - Capacidade fixa com despejo dos alertas mais antigos
+ * - Consultas por cliente e severidade, mais recentes primeiro
+ * - Paginação por cursor e corte dos campos de texto
+ */
+class RecentAlertStoreTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void record_ShouldEvictOldestAlertsAndTheirClientIndex_WhenRingWraps() {
+        RecentAlertStore store = new RecentAlertStore(3, 512, registry);
+
+        store.record(alert("id-1", "client-a", HIGH));
+        store.record(alert("id-2", "client-b", HIGH));
+        store.record(alert("id-3", "client-b", LOW));
+        store.record(alert("id-4", "client-c", LOW));
+
+        assertEquals(List.of("id-4", "id-3", "id-2"), ids(store.query(null, null, 0, RecentAlertStore.NONE, 10)));
+        assertTrue(store.query("client-a", null, 0, RecentAlertStore.NONE, 10).alerts().isEmpty());
+        assertEquals(3, store.size());
+        assertEquals(2.0, registry.get("alert.recent.clients").gauge().value());
+        assertEquals(1.0, registry.get("alert.recent.evictions").functionCounter().count());
+    }
+
+    @Test
+    void query_ShouldFollowClientAndSeverityIndexesNewestFirst() {
+        RecentAlertStore store = new RecentAlertStore(100, 512, registry);
+        store.record(alert("id-1", "client-a", HIGH));
+        store.record(alert("id-2", "client-b", CRITICAL));
+        store.record(alert("id-3", "client-a", LOW));
+        store.record(alert("id-4", "client-a", HIGH));
+
+        assertEquals(List.of("id-4", "id-3", "id-1"), ids(store.query("client-a", null, 0, RecentAlertStore.NONE, 10)));
+        assertEquals(List.of("id-4", "id-1"), ids(store.query(null, HIGH, 0, RecentAlertStore.NONE, 10)));
+        assertEquals(List.of("id-4", "id-1"), ids(store.query("client-a", HIGH, 0, RecentAlertStore.NONE, 10)));
+        assertTrue(store.query("client-a", CRITICAL, 0, RecentAlertStore.NONE, 10).alerts().isEmpty());
+        assertTrue(store.query(null, null, System.currentTimeMillis() + 60_000, RecentAlertStore.NONE, 10).alerts().isEmpty());
+    }
+
+    @Test
+    void query_ShouldPageWithCursorAndCutLongFields() {
+        RecentAlertStore store = new RecentAlertStore(100, 8, registry);
+        for (int i = 1; i <= 5; i++) {
+            store.record(alert("id-" + i, "client-a", HIGH));
+        }
+        store.record(alert("id-6", "client-with-a-long-id", HIGH));
+
+        RecentAlertStore.Page first = store.query("client-a", null, 0, RecentAlertStore.NONE, 2);
+        RecentAlertStore.Page second = store.query("client-a", null, 0, first.nextCursor(), 2);
+        RecentAlertStore.Page last = store.query("client-a", null, 0, second.nextCursor(), 2);
+
+        assertEquals(List.of("id-5", "id-4"), ids(first));
+        assertEquals(List.of("id-3", "id-2"), ids(second));
+        assertEquals(List.of("id-1"), ids(last));
+        assertEquals(RecentAlertStore.NONE, last.nextCursor());
+        assertEquals("Disk alm", first.alerts().get(0).message());
+        assertEquals(5, store.size());
+    }
+
+    private static Alert alert(String id, String clientId, Severity severity) {
+        return Alert.builder().id(id).clientId(clientId).alertType("DISK").message("Disk almost full")
+                .severity(severity).build();
+    }
+
+    private static List<String> ids(RecentAlertStore.Page page) {
+        return page.alerts().stream().map(RecentAlert::id).toList();
+    }
+}
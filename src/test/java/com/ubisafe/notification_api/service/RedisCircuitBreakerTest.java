@@ -0,0 +1,95 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link RedisCircuitBreaker}:
+ * - Abre quando falhas ou chamadas lentas atingem o limite dentro da janela
+ * - Chamadas rápidas intercaladas não impedem a abertura
+ * - Falhas que saem da janela deixam de contar
+ * - Só fecha quando a sonda em segundo plano responde dentro do orçamento
+ */
+class RedisCircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        breaker = new RedisCircuitBreaker("default", 100, 3, 6, registry, clock::get);
+    }
+
+    @Test
+    void shouldOpen_AfterConsecutiveFailedOrSlowCalls() {
+        breaker.onFailure();
+        breaker.onSuccess(SLOW);
+        assertFalse(breaker.isOpen());
+
+        breaker.onFailure();
+
+        assertTrue(breaker.isOpen());
+        assertEquals(1, registry.get("alert.dedup.breaker.open").tag("shard", "default").gauge().value());
+        assertEquals(1, registry.get("alert.dedup.breaker.transitions").tag("state", "open").counter().count());
+    }
+
+    @Test
+    void shouldOpen_WhenEveryOtherCallIsSlow() {
+        breaker.onSuccess(SLOW);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(SLOW);
+        breaker.onSuccess(FAST);
+        assertFalse(breaker.isOpen());
+
+        breaker.onSuccess(SLOW);
+
+        assertTrue(breaker.isOpen());
+    }
+
+    @Test
+    void shouldStayClosed_WhenFailuresLeaveTheWindow() {
+        breaker.onFailure();
+        breaker.onFailure();
+        for (int i = 0; i < 6; i++) {
+            breaker.onSuccess(FAST);
+        }
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    void probe_ShouldCloseOnlyWhenPingAnswersWithinBudget() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+
+        breaker.probe(() -> {
+            throw new IllegalStateException("Redis down");
+        });
+        assertTrue(breaker.isOpen());
+
+        breaker.probe(() -> clock.addAndGet(SLOW));
+        assertTrue(breaker.isOpen());
+
+        breaker.probe(() -> clock.addAndGet(FAST));
+        assertFalse(breaker.isOpen());
+        assertEquals(1, registry.get("alert.dedup.breaker.transitions").tag("state", "closed").counter().count());
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertFalse(breaker.isOpen(), "Janela de falhas recomeça após fechar");
+    }
+}
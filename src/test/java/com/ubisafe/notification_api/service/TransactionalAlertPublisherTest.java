@@ -0,0 +1,97 @@
+package com.ubisafe.notification_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o {@link TransactionalAlertPublisher}:
+ * - Alertas de várias requisições são agrupados em uma única transação
+ * - O futuro só é concluído após o commit
+ * - Uma transação abortada falha todos os alertas do lote
+ */
+class TransactionalAlertPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> template = mock(KafkaTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final KafkaOperations<String, byte[]> operations = mock(KafkaOperations.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TransactionalAlertPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (publisher != null) {
+            publisher.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_ShouldCommitRecordsFromManyCallersInOneTransaction() throws Exception {
+        AtomicLong offset = new AtomicLong();
+        when(template.isTransactional()).thenReturn(true);
+        when(template.getProducerFactory()).thenReturn(mock(ProducerFactory.class));
+        when(operations.send(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(new SendResult<>(new ProducerRecord<>("alerts", new byte[0]),
+                        new RecordMetadata(new TopicPartition("alerts", 0), offset.getAndIncrement(), 0, 0, 0, 0))));
+        when(template.executeInTransaction(any())).thenAnswer(invocation ->
+                ((KafkaOperations.OperationsCallback<String, byte[], Object>) invocation.getArgument(0)).doInOperations(operations));
+        publisher = new TransactionalAlertPublisher(template, 3, 5_000, registry);
+
+        CompletableFuture<SendResult<String, byte[]>> first = publisher.send("alerts", "a", new byte[1]);
+        CompletableFuture<SendResult<String, byte[]>> second = publisher.send("alerts", "b", new byte[1]);
+        CompletableFuture<SendResult<String, byte[]>> third = publisher.send("alerts.critical", "c", new byte[1]);
+
+        assertEquals(2, third.get(5, TimeUnit.SECONDS).getRecordMetadata().offset());
+        assertEquals(0, first.get().getRecordMetadata().offset());
+        assertEquals(1, second.get().getRecordMetadata().offset());
+        verify(template, times(1)).executeInTransaction(any());
+        assertEquals(3.0, registry.get("alert.kafka.transaction.records").summary().totalAmount());
+    }
+
+    @Test
+    void commit_ShouldFailEveryAlertInTheBatch_WhenTransactionAborts() {
+        when(template.isTransactional()).thenReturn(true);
+        when(template.getProducerFactory()).thenReturn(mock(ProducerFactory.class));
+        when(template.executeInTransaction(any())).thenThrow(new RuntimeException("producer fenced"));
+        publisher = new TransactionalAlertPublisher(template, 10, 0, registry);
+        CompletableFuture<SendResult<String, byte[]>> first = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> second = new CompletableFuture<>();
+
+        publisher.commit(List.of(
+                new TransactionalAlertPublisher.Pending("alerts", "a", new byte[1], first),
+                new TransactionalAlertPublisher.Pending("alerts", "b", new byte[1], second)));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(1.0, registry.get("alert.kafka.transaction.aborts").counter().count());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonTransactionalTemplate() {
+        when(template.isTransactional()).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> new TransactionalAlertPublisher(template, 10, 10, registry));
+    }
+}
@@ -0,0 +1,159 @@
+package com.ubisafe.notification_api.spill;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link MappedSpillLog}:
+ * - Replay em ordem com avanço do checkpoint apenas após ack
+ * - Recuperação após reinício
+ * - Remoção de segmentos já reenviados
+ * - Checkpoint consistente com group commit concorrente
+ */
+class MappedSpillLogTest {
+
+    private static final long NEVER = 3_600_000L;
+
+    @TempDir
+    Path directory;
+
+    private final List<String> sent = new ArrayList<>();
+    private boolean brokerDown;
+    private MappedSpillLog spillLog;
+
+    @AfterEach
+    void tearDown() {
+        if (spillLog != null) {
+            spillLog.close();
+        }
+    }
+
+    private MappedSpillLog open(int segmentBytes) {
+        return new MappedSpillLog(directory, segmentBytes, NEVER, NEVER, 2, 1000, this::send, new SimpleMeterRegistry());
+    }
+
+    private CompletableFuture<?> send(String topic, String key, byte[] payload) {
+        if (brokerDown || "stop".equals(key)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+        }
+        sent.add(topic + "/" + key + "/" + new String(payload, StandardCharsets.UTF_8));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void replay_ShouldSendRecordsInAppendOrder() {
+        spillLog = open(4096);
+        assertTrue(spillLog.append("alerts", "a", bytes("one")));
+        assertTrue(spillLog.append("alerts.critical", "b", bytes("two")));
+        assertTrue(spillLog.append("alerts", null, bytes("three")));
+        assertEquals(3, spillLog.pendingRecords());
+
+        spillLog.replay();
+
+        assertEquals(List.of("alerts/a/one", "alerts.critical/b/two", "alerts/null/three"), sent);
+        assertEquals(0, spillLog.pendingRecords());
+    }
+
+    @Test
+    void replay_ShouldKeepRecords_WhenBrokerFails() {
+        spillLog = open(4096);
+        spillLog.append("alerts", "a", bytes("one"));
+        brokerDown = true;
+
+        spillLog.replay();
+        assertEquals(1, spillLog.pendingRecords());
+
+        brokerDown = false;
+        spillLog.replay();
+        assertEquals(List.of("alerts/a/one"), sent);
+        assertEquals(0, spillLog.pendingRecords());
+    }
+
+    @Test
+    void reopen_ShouldResumeFromCheckpoint() {
+        spillLog = open(4096);
+        spillLog.append("alerts", "a", bytes("one"));
+        spillLog.append("alerts", "b", bytes("two"));
+        spillLog.replay();
+        spillLog.append("alerts", "c", bytes("three"));
+        spillLog.close();
+
+        spillLog = open(4096);
+        assertEquals(1, spillLog.pendingRecords());
+        spillLog.append("alerts", "d", bytes("four"));
+        spillLog.replay();
+
+        assertEquals(List.of("alerts/a/one", "alerts/b/two", "alerts/c/three", "alerts/d/four"), sent);
+    }
+
+    @Test
+    void replay_ShouldDeleteFullyReplayedSegments() {
+        spillLog = open(64);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(spillLog.append("alerts", "k" + i, bytes("payload-" + i)));
+        }
+        assertTrue(spillLog.segmentCount() > 1);
+
+        spillLog.replay();
+
+        assertEquals(6, sent.size());
+        assertEquals("alerts/k5/payload-5", sent.get(5));
+        assertEquals(1, spillLog.segmentCount());
+        assertEquals(0, spillLog.pendingRecords());
+    }
+
+    @Test
+    void append_ShouldRejectRecordLargerThanSegment() {
+        spillLog = open(64);
+        assertFalse(spillLog.append("alerts", "big", new byte[128]));
+        assertEquals(0, spillLog.pendingRecords());
+    }
+
+    @Test
+    void checkpoint_ShouldMatchCursor_WhenGroupCommitRacesSegmentAdvance() throws Exception {
+        // each record is 25 bytes, so a 50 byte segment holds exactly two
+        for (int round = 0; round < 200; round++) {
+            Path roundDirectory = Files.createDirectory(directory.resolve("round-" + round));
+            spillLog = new MappedSpillLog(roundDirectory, 50, NEVER, NEVER, 2, 1000, this::send, new SimpleMeterRegistry());
+            spillLog.append("alerts", "k0", bytes("a"));
+            spillLog.append("alerts", "k1", bytes("b"));
+            spillLog.append("alerts", "stop", bytes("c"));
+            assertEquals(2, spillLog.segmentCount());
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread committer = new Thread(() -> {
+                while (running.get()) {
+                    spillLog.groupCommit();
+                }
+            });
+            committer.start();
+            spillLog.replay();
+            running.set(false);
+            committer.join();
+
+            ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(roundDirectory.resolve("replay.checkpoint")));
+            assertEquals(1, checkpoint.getLong(0), "round " + round);
+            assertEquals(0, checkpoint.getInt(8), "round " + round);
+            assertEquals(1, spillLog.pendingRecords());
+            spillLog.close();
+            spillLog = null;
+        }
+    }
+}